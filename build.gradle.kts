@@ -27,6 +27,7 @@ plugins {
     `maven-publish`
     id("com.github.johnrengelman.shadow") version "8.1.1"
     id("com.jfrog.artifactory") version "5.2.0"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -51,6 +52,20 @@ dependencies {
     compileOnly("me.clip:placeholderapi:2.10.4")
     compileOnly("io.th0rgal:oraxen:1.170.0")
     compileOnly("com.wolfyscript.wolfyutils.spigot:wolfyutils-spigot:4.17-beta.2-SNAPSHOT")
+    "jmh"("com.h2database:h2:2.2.224")
+    "jmh"("org.mockito:mockito-core:5.11.0")
+}
+
+// The benchmarks run outside the server, so they need the provided dependencies at runtime.
+configurations.named("jmhImplementation") {
+    extendsFrom(configurations.compileOnly.get())
+}
+
+jmh {
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    profilers.add("gc")
 }
 
 group = "com.wolfyscript.customcrafting"
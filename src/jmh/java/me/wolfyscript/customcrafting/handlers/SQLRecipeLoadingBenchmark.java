@@ -0,0 +1,128 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.wolfyscript.customcrafting.handlers;
+
+import me.wolfyscript.utilities.util.NamespacedKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading the recipes of the {@link SQLDatabaseLoader} with one query per recipe, like it did before, to the single streaming query with parallel parsing of {@link SQLDatabaseLoader#streamRecipes}.<br>
+ * The recipes are stored in an in-memory H2 database (in MySQL mode) with the same table and queries as the loader.
+ * Parsing a recipe requires the plugin, so it is replaced by burning the specified amount of CPU tokens per recipe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SQLRecipeLoadingBenchmark {
+
+    @Param({"100", "2000", "20000"})
+    public int recipes;
+
+    @Param({"0", "20000"})
+    public long parseTokens;
+
+    private Connection connection;
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:customcrafting;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE IF NOT EXISTS customcrafting_recipes(rNamespace VARCHAR(255) null, rKey VARCHAR(255) null, rType TINYTEXT null, rData LONGTEXT null, constraint customcrafting_items_namespacekey UNIQUE (rNamespace, rKey));");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO customcrafting_recipes (rNamespace, rKey, rType, rData) VALUES (?, ?, ?, ?)")) {
+            String data = "{\"group\":\"\",\"priority\":\"NORMAL\",\"checkNBT\":true,\"ingredients\":[" + "{\"items\":[{\"item\":{\"type\":\"STONE\",\"amount\":1}}]},".repeat(8) + "{}]}";
+            for (int i = 0; i < recipes; i++) {
+                insert.setString(1, "benchmark");
+                insert.setString(2, "recipe_" + i);
+                insert.setString(3, "crafting_shapeless");
+                insert.setString(4, data);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        executor = Executors.newWorkStealingPool(Math.max(1, Runtime.getRuntime().availableProcessors()));
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        executor.shutdownNow();
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DROP TABLE customcrafting_recipes");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public void queryPerRecipe(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement recipesQuery = connection.prepareStatement("SELECT * FROM customcrafting_recipes"); ResultSet resultSet = recipesQuery.executeQuery()) {
+            while (resultSet.next()) {
+                String namespace = resultSet.getString("rNamespace");
+                String key = resultSet.getString("rKey");
+                try (PreparedStatement recipeQuery = connection.prepareStatement("SELECT rType, rData FROM customcrafting_recipes WHERE rNamespace=? AND rKey=?")) {
+                    recipeQuery.setString(1, namespace);
+                    recipeQuery.setString(2, key);
+                    try (ResultSet recipeData = recipeQuery.executeQuery()) {
+                        while (recipeData.next()) {
+                            blackhole.consume(parse(recipeData.getString("rType"), recipeData.getString("rData")));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void singleQuery(Blackhole blackhole) throws SQLException {
+        try (PreparedStatement recipesQuery = connection.prepareStatement("SELECT rNamespace, rKey, rType, rData FROM customcrafting_recipes", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            SQLDatabaseLoader.streamRecipes(recipesQuery, executor,
+                    (namespace, key) -> new NamespacedKey("customcrafting", namespace + "/" + key),
+                    (namespacedKey, typeID, data) -> parse(typeID, data),
+                    (namespacedKey, recipe) -> blackhole.consume(recipe));
+        }
+    }
+
+    private int parse(String typeID, String data) {
+        Blackhole.consumeCPU(parseTokens);
+        return typeID.length() + data.length();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.wolfyscript.customcrafting.recipes;
+
+import com.wolfyscript.utilities.bukkit.world.items.reference.BukkitStackIdentifier;
+import com.wolfyscript.utilities.bukkit.world.items.reference.StackReference;
+import me.wolfyscript.customcrafting.CustomCrafting;
+import me.wolfyscript.customcrafting.recipes.data.CraftingData;
+import me.wolfyscript.customcrafting.recipes.items.Ingredient;
+import me.wolfyscript.customcrafting.utils.CraftManager;
+import me.wolfyscript.utilities.api.WolfyUtilCore;
+import me.wolfyscript.utilities.util.NamespacedKey;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.ItemStack;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Measures the matrix stripping and the shaped recipe checks of full 3x3 crafting and 6x6 elite crafting grids.<br>
+ * Run it with the GC profiler (<code>-prof gc</code>, enabled by default in the build) to compare the allocation rate (<code>gc.alloc.rate.norm</code>) per operation.<br>
+ * <br>
+ * The server and the plugin are mocked, so the recipes can be created and checked outside the server.
+ * The item factory of the server only compares the (absent) meta by equality, so the items are compared by their material only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ShapedRecipeCheckBenchmark {
+
+    @Param({"3", "6"})
+    public int gridSize;
+
+    private ItemStack[] matrix;
+    private CraftManager.MatrixData matrixData;
+    private AbstractRecipeShaped<?, ?> matchingRecipe;
+    private AbstractRecipeShaped<?, ?> mismatchingRecipe;
+
+    @Setup
+    public void setup() {
+        if (Bukkit.getServer() == null) {
+            Server server = Mockito.mock(Server.class, Mockito.RETURNS_DEEP_STUBS);
+            ItemFactory itemFactory = Mockito.mock(ItemFactory.class);
+            Mockito.when(itemFactory.equals(ArgumentMatchers.any(), ArgumentMatchers.any())).thenAnswer(invocation -> Objects.equals(invocation.getArgument(0), invocation.getArgument(1)));
+            Mockito.when(server.getItemFactory()).thenReturn(itemFactory);
+            Mockito.when(server.getLogger()).thenReturn(Logger.getLogger(ShapedRecipeCheckBenchmark.class.getName()));
+            Bukkit.setServer(server);
+        }
+        WolfyUtilCore core = Mockito.mock(WolfyUtilCore.class, Mockito.RETURNS_DEEP_STUBS);
+        CustomCrafting customCrafting = Mockito.mock(CustomCrafting.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(customCrafting.getName()).thenReturn("customcrafting");
+
+        matrix = new ItemStack[gridSize * gridSize];
+        for (int i = 0; i < matrix.length; i++) {
+            matrix[i] = new ItemStack(Material.OAK_PLANKS);
+        }
+        matrixData = CraftManager.MatrixData.of(matrix);
+
+        Map<Character, Ingredient> ingredients = Map.of(
+                'P', new Ingredient(reference(core, Material.OAK_PLANKS)),
+                'S', new Ingredient(reference(core, Material.STONE))
+        );
+        String[] shape = new String[gridSize];
+        Arrays.fill(shape, "P".repeat(gridSize));
+        matchingRecipe = createRecipe(customCrafting, "matching", shape, ingredients);
+        // Only the last slot differs, so the whole shape is checked before it fails.
+        String[] mismatchingShape = shape.clone();
+        mismatchingShape[gridSize - 1] = "P".repeat(gridSize - 1) + "S";
+        mismatchingRecipe = createRecipe(customCrafting, "mismatching", mismatchingShape, ingredients);
+    }
+
+    private AbstractRecipeShaped<?, ?> createRecipe(CustomCrafting customCrafting, String key, String[] shape, Map<Character, Ingredient> ingredients) {
+        NamespacedKey namespacedKey = new NamespacedKey("benchmark", key);
+        AbstractRecipeShaped<?, ?> recipe = gridSize == 3
+                ? new CraftingRecipeShaped(namespacedKey, customCrafting, new AbstractRecipeShaped.Symmetry(), false, shape)
+                : new CraftingRecipeEliteShaped(namespacedKey, customCrafting, new AbstractRecipeShaped.Symmetry(), false, shape);
+        recipe.setIngredients(ingredients);
+        return recipe;
+    }
+
+    private static StackReference reference(WolfyUtilCore core, Material material) {
+        return new StackReference(core, new BukkitStackIdentifier(new ItemStack(material)), 1, 1, new ItemStack(material));
+    }
+
+    @Benchmark
+    public CraftManager.MatrixData stripMatrix() {
+        return CraftManager.MatrixData.of(matrix);
+    }
+
+    @Benchmark
+    public CraftingData checkMatching() {
+        return matchingRecipe.check(matrixData);
+    }
+
+    @Benchmark
+    public CraftingData checkMismatching() {
+        return mismatchingRecipe.check(matrixData);
+    }
+}
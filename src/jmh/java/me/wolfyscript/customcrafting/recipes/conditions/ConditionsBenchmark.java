@@ -0,0 +1,109 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.wolfyscript.customcrafting.recipes.conditions;
+
+import me.wolfyscript.customcrafting.CustomCrafting;
+import me.wolfyscript.customcrafting.recipes.CustomRecipe;
+import me.wolfyscript.customcrafting.utils.NamespacedKeyUtils;
+import me.wolfyscript.utilities.util.NamespacedKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost-ordered condition pipeline to checking the conditions in the order of the map, like the conditions did before.<br>
+ * The recipe has two conditions of each cost, and the checks only burn CPU according to their cost, so the results show the effect of the order alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConditionsBenchmark {
+
+    // The CPU tokens a check burns for each cost.
+    private static final long[] TOKENS = {0, 8, 64, 512};
+    private static final int CONDITIONS_PER_COST = 2;
+
+    /**
+     * The cost of the condition that fails; or NONE if all the conditions are met.
+     */
+    @Param({"NONE", "TRIVIAL", "CHEAP", "EXPENSIVE"})
+    public String failing;
+
+    private Conditions conditions;
+
+    @Setup
+    public void setup() {
+        conditions = new Conditions((CustomCrafting) null);
+        for (Condition.Cost cost : Condition.Cost.values()) {
+            for (int i = 0; i < CONDITIONS_PER_COST; i++) {
+                boolean passes = i > 0 || !cost.name().equals(failing);
+                conditions.setCondition(new BenchmarkCondition(new NamespacedKey(NamespacedKeyUtils.NAMESPACE, "benchmark_" + cost.name().toLowerCase(Locale.ROOT) + "_" + i), cost, passes));
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean mapOrder() {
+        return conditions.getValues().stream().allMatch(condition -> condition.check(null, null));
+    }
+
+    @Benchmark
+    public boolean costOrder() {
+        return conditions.checkConditions(null, null);
+    }
+
+    /**
+     * Takes the time of its cost and returns the configured result, without reading the recipe or the data.
+     */
+    private static class BenchmarkCondition extends Condition<BenchmarkCondition> {
+
+        private final Cost cost;
+        private final boolean passes;
+
+        BenchmarkCondition(NamespacedKey key, Cost cost, boolean passes) {
+            super(key);
+            this.cost = cost;
+            this.passes = passes;
+        }
+
+        @Override
+        public boolean check(CustomRecipe<?> recipe, Conditions.Data data) {
+            Blackhole.consumeCPU(TOKENS[cost.ordinal()]);
+            return passes;
+        }
+
+        @Override
+        public Cost getCost() {
+            return cost;
+        }
+    }
+}
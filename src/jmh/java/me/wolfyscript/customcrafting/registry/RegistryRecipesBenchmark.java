@@ -0,0 +1,81 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.wolfyscript.customcrafting.registry;
+
+import me.wolfyscript.customcrafting.CustomCrafting;
+import me.wolfyscript.customcrafting.recipes.CustomRecipeAnvil;
+import me.wolfyscript.customcrafting.recipes.RecipePriority;
+import me.wolfyscript.customcrafting.recipes.RecipeType;
+import me.wolfyscript.customcrafting.recipes.items.Ingredient;
+import me.wolfyscript.utilities.registry.Registries;
+import me.wolfyscript.utilities.util.NamespacedKey;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the sorted snapshots of the {@link RegistryRecipes} to sorting the recipes of the type on every lookup, like the listeners did before.<br>
+ * The plugin is mocked, so the registry and the recipes can be created outside the server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RegistryRecipesBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int recipes;
+
+    private RegistryRecipes registry;
+
+    @Setup
+    public void setup() {
+        CustomCrafting customCrafting = Mockito.mock(CustomCrafting.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(customCrafting.getName()).thenReturn("customcrafting");
+        registry = new RegistryRecipes(customCrafting, Mockito.mock(Registries.class));
+        RecipePriority[] priorities = RecipePriority.values();
+        for (int i = 0; i < recipes; i++) {
+            var recipe = new CustomRecipeAnvil(new NamespacedKey("benchmark", "anvil_" + i), customCrafting, new Ingredient(), new Ingredient());
+            recipe.setPriority(priorities[i % priorities.length]);
+            registry.register(recipe);
+        }
+    }
+
+    @Benchmark
+    public List<CustomRecipeAnvil> sortPerLookup() {
+        return registry.get(RecipeType.ANVIL).stream().sorted().toList();
+    }
+
+    @Benchmark
+    public List<CustomRecipeAnvil> sortedSnapshot() {
+        return registry.getSorted(RecipeType.ANVIL);
+    }
+}
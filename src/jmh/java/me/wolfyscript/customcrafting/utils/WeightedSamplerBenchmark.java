@@ -0,0 +1,80 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package me.wolfyscript.customcrafting.utils;
+
+import me.wolfyscript.utilities.util.RandomCollection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares choosing a weighted result with the {@link WeightedSampler} to collecting a new {@link RandomCollection} for each choice, like the results did before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WeightedSamplerBenchmark {
+
+    @Param({"1", "8", "64"})
+    public int choices;
+
+    private List<Choice> values;
+    private WeightedSampler<Choice> sampler;
+
+    @Setup
+    public void setup() {
+        values = new ArrayList<>(choices);
+        for (int i = 0; i < choices; i++) {
+            values.add(new Choice("choice_" + i, 1 + (i % 4) * 2.5));
+        }
+        sampler = WeightedSampler.of(values, Choice::weight);
+    }
+
+    @Benchmark
+    public Choice randomCollection() {
+        RandomCollection<Choice> collection = values.stream().collect(RandomCollection.getCollector((rdmCollection, choice) -> rdmCollection.add(choice.weight(), choice)));
+        return collection.next();
+    }
+
+    @Benchmark
+    public Choice weightedSampler() {
+        return sampler.next();
+    }
+
+    @Benchmark
+    public WeightedSampler<Choice> buildSampler() {
+        return WeightedSampler.of(values, Choice::weight);
+    }
+
+    public record Choice(String name, double weight) {
+    }
+}
@@ -39,6 +39,7 @@ import me.wolfyscript.customcrafting.data.CCCache;
 import me.wolfyscript.customcrafting.data.CCPlayerData;
 import me.wolfyscript.customcrafting.data.patreon.Patreon;
 import me.wolfyscript.customcrafting.data.persistent.CauldronBlockData;
+import me.wolfyscript.customcrafting.data.persistent.CauldronTicker;
 import me.wolfyscript.customcrafting.gui.cauldron.CauldronWorkstationCluster;
 import me.wolfyscript.customcrafting.gui.elite_crafting.EliteCraftingCluster;
 import me.wolfyscript.customcrafting.gui.item_creator.ClusterItemCreator;
@@ -68,12 +69,14 @@ import me.wolfyscript.customcrafting.gui.potion_creator.ClusterPotionCreator;
 import me.wolfyscript.customcrafting.gui.recipe_creator.ClusterRecipeCreator;
 import me.wolfyscript.customcrafting.gui.recipebook.ClusterRecipeBook;
 import me.wolfyscript.customcrafting.gui.recipebook.ClusterRecipeView;
+import me.wolfyscript.customcrafting.gui.recipebook.RecipeBookAnimator;
 import me.wolfyscript.customcrafting.gui.recipebook_editor.ClusterRecipeBookEditor;
 import me.wolfyscript.customcrafting.handlers.ConfigHandler;
 import me.wolfyscript.customcrafting.handlers.DataHandler;
 import me.wolfyscript.customcrafting.handlers.DisableRecipesHandler;
 import me.wolfyscript.customcrafting.listeners.AnvilListener;
 import me.wolfyscript.customcrafting.listeners.BrewingStandListener;
+import me.wolfyscript.customcrafting.listeners.BrewingStandTicker;
 import me.wolfyscript.customcrafting.listeners.CauldronListener;
 import me.wolfyscript.customcrafting.listeners.EliteWorkbenchListener;
 import me.wolfyscript.customcrafting.listeners.RecipeDiscoverListener;
@@ -94,6 +97,7 @@ import me.wolfyscript.customcrafting.recipes.conditions.AdvancedWorkbenchConditi
 import me.wolfyscript.customcrafting.recipes.conditions.Condition;
 import me.wolfyscript.customcrafting.recipes.conditions.ConditionAdvancement;
 import me.wolfyscript.customcrafting.recipes.conditions.ConditionCustomPlayerCheck;
+import me.wolfyscript.customcrafting.recipes.conditions.ConditionMetrics;
 import me.wolfyscript.customcrafting.recipes.conditions.ConditionScoreboard;
 import me.wolfyscript.customcrafting.recipes.conditions.CraftDelayCondition;
 import me.wolfyscript.customcrafting.recipes.conditions.CraftLimitCondition;
@@ -114,6 +118,9 @@ import me.wolfyscript.customcrafting.recipes.items.target.adapters.*;
 import me.wolfyscript.customcrafting.registry.CCRegistries;
 import me.wolfyscript.customcrafting.utils.ChatUtils;
 import me.wolfyscript.customcrafting.utils.CraftManager;
+import me.wolfyscript.customcrafting.utils.PlayerRateLimiter;
+import me.wolfyscript.customcrafting.utils.RecipeVisibilityCache;
+import me.wolfyscript.customcrafting.utils.ResultSelectionCache;
 import me.wolfyscript.customcrafting.utils.NamespacedKeyUtils;
 import me.wolfyscript.customcrafting.utils.UpdateChecker;
 import me.wolfyscript.customcrafting.listeners.cooking.CookingManager;
@@ -169,6 +176,13 @@ public class CustomCrafting extends JavaPlugin {
     //Recipe Managers / API
     private final CraftManager craftManager;
     private final CookingManager cookingManager;
+    private final CauldronTicker cauldronTicker;
+    private final BrewingStandTicker brewingStandTicker;
+    private final ResultSelectionCache resultSelectionCache;
+    private final ConditionMetrics conditionMetrics;
+    private final RecipeVisibilityCache recipeVisibilityCache;
+    private final RecipeBookAnimator recipeBookAnimator;
+    private final PlayerRateLimiter recipeBookClickLimiter;
     private DisableRecipesHandler disableRecipesHandler;
     //File Handlers to load, save or edit data
     private ConfigHandler configHandler;
@@ -210,6 +224,13 @@ public class CustomCrafting extends JavaPlugin {
 
         this.craftManager = new CraftManager(this);
         this.cookingManager = new CookingManager(this);
+        this.cauldronTicker = new CauldronTicker(this);
+        this.brewingStandTicker = new BrewingStandTicker(this);
+        this.resultSelectionCache = new ResultSelectionCache(this);
+        this.conditionMetrics = new ConditionMetrics();
+        this.recipeVisibilityCache = new RecipeVisibilityCache(this);
+        this.recipeBookAnimator = new RecipeBookAnimator(this);
+        this.recipeBookClickLimiter = new PlayerRateLimiter(100, 1);
     }
 
     /**
@@ -340,6 +361,9 @@ public class CustomCrafting extends JavaPlugin {
         this.api.initialize();
         this.configHandler = new ConfigHandler(this);
         this.configHandler.load();
+        this.conditionMetrics.setEnabled(configHandler.getConfig().isConditionMetricsEnabled());
+        this.recipeVisibilityCache.load(configHandler.getConfig());
+        this.recipeBookClickLimiter.setRate(configHandler.getConfig().getRecipeBookClickInterval(), configHandler.getConfig().getRecipeBookClickBurst());
 
         writeBanner();
         this.patreon.initialize();
@@ -352,6 +376,7 @@ public class CustomCrafting extends JavaPlugin {
 
         registerListeners();
         registerCommands();
+        resultSelectionCache.start(configHandler.getConfig());
         registerInventories();
 
         dataHandler.loadRecipesAndItems();
@@ -367,6 +392,13 @@ public class CustomCrafting extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        cauldronTicker.stop();
+        brewingStandTicker.stop();
+        resultSelectionCache.stop();
+        recipeBookAnimator.clear();
+        if (dataHandler != null) {
+            dataHandler.close();
+        }
         try {
             configHandler.save();
         } catch (IOException e) {
@@ -398,9 +430,14 @@ public class CustomCrafting extends JavaPlugin {
         pM.registerEvents(new FurnaceListener(this, cookingManager), this);
         pM.registerEvents(new AnvilListener(this), this);
         pM.registerEvents(new CauldronListener(this), this);
+        pM.registerEvents(cauldronTicker, this);
         pM.registerEvents(new EliteWorkbenchListener(api), this);
         pM.registerEvents(new GrindStoneListener(this), this);
         pM.registerEvents(new BrewingStandListener(api, this), this);
+        pM.registerEvents(brewingStandTicker, this);
+        pM.registerEvents(resultSelectionCache, this);
+        pM.registerEvents(recipeVisibilityCache, this);
+        pM.registerEvents(recipeBookClickLimiter, this);
         pM.registerEvents(new RecipeBookListener(this), this);
         pM.registerEvents(new SmithingListener(this), this);
         if (ServerVersion.isAfterOrEq(MinecraftVersion.of(1, 20, 0))) {
@@ -505,6 +542,69 @@ public class CustomCrafting extends JavaPlugin {
         return cookingManager;
     }
 
+    /**
+     * Gets the CauldronTicker that ticks all the cauldrons, that are currently cooking a recipe.
+     *
+     * @return The CauldronTicker instance
+     */
+    public CauldronTicker getCauldronTicker() {
+        return cauldronTicker;
+    }
+
+    /**
+     * Gets the BrewingStandTicker that brews the custom brewing recipes of all brewing stands.
+     *
+     * @return The BrewingStandTicker instance
+     */
+    public BrewingStandTicker getBrewingStandTicker() {
+        return brewingStandTicker;
+    }
+
+    /**
+     * Gets the cache of the result items that were chosen for players and blocks.
+     *
+     * @return The ResultSelectionCache instance
+     */
+    public ResultSelectionCache getResultSelectionCache() {
+        return resultSelectionCache;
+    }
+
+    /**
+     * Gets the metrics of the recipe conditions, which are only collected when enabled in the config.
+     *
+     * @return The ConditionMetrics instance
+     */
+    public ConditionMetrics getConditionMetrics() {
+        return conditionMetrics;
+    }
+
+    /**
+     * Gets the cache of the recipes each player can see in the recipe book.
+     *
+     * @return The RecipeVisibilityCache instance
+     */
+    public RecipeVisibilityCache getRecipeVisibilityCache() {
+        return recipeVisibilityCache;
+    }
+
+    /**
+     * Gets the limiter, that throttles players spam clicking recipes in the recipe book.
+     *
+     * @return The PlayerRateLimiter instance
+     */
+    public PlayerRateLimiter getRecipeBookClickLimiter() {
+        return recipeBookClickLimiter;
+    }
+
+    /**
+     * Gets the animator, that cycles through the variants displayed in the recipe book.
+     *
+     * @return The RecipeBookAnimator instance
+     */
+    public RecipeBookAnimator getRecipeBookAnimator() {
+        return recipeBookAnimator;
+    }
+
     public ChatUtils getChatUtils() {
         return chatUtils;
     }
@@ -24,15 +24,20 @@ package me.wolfyscript.customcrafting.commands.cc_subcommands;
 
 import me.wolfyscript.customcrafting.CustomCrafting;
 import me.wolfyscript.customcrafting.commands.AbstractSubCommand;
+import me.wolfyscript.customcrafting.recipes.conditions.ConditionMetrics;
 import me.wolfyscript.customcrafting.utils.ChatUtils;
 import me.wolfyscript.utilities.api.WolfyUtilities;
+import me.wolfyscript.utilities.util.NamespacedKey;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.util.StringUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 public class DebugSubCommand extends AbstractSubCommand {
 
@@ -44,14 +49,72 @@ public class DebugSubCommand extends AbstractSubCommand {
     public boolean onCommand(@NotNull CommandSender sender, @NotNull String var3, @NotNull String[] var4) {
         if (sender instanceof Player p && ChatUtils.checkPerm(p, "customcrafting.cmd.debug")) {
             WolfyUtilities api = customCrafting.getApi();
+            if (var4.length >= 1 && var4[0].equalsIgnoreCase("caches")) {
+                printCaches(p);
+                return true;
+            }
+            if (var4.length >= 1 && var4[0].equalsIgnoreCase("conditions")) {
+                if (var4.length >= 2 && var4[1].equalsIgnoreCase("reset")) {
+                    customCrafting.getConditionMetrics().reset();
+                    api.getChat().sendMessage(p, "Reset the condition metrics!");
+                } else {
+                    printConditions(p);
+                }
+                return true;
+            }
             customCrafting.getConfigHandler().getConfig().set("debug", !api.hasDebuggingMode());
             api.getChat().sendMessage(p, "Set Debug to: " + api.hasDebuggingMode());
         }
         return true;
     }
 
+    private void printCaches(Player p) {
+        var chat = customCrafting.getApi().getChat();
+        var resultCache = customCrafting.getResultSelectionCache();
+        chat.sendMessage(p, String.format("Result Cache: %d players/blocks (%d blocks), %d items, %d hits, %d misses, %d evicted",
+                resultCache.size(), resultCache.getBlockCount(), resultCache.getSelectionCount(), resultCache.getHits(), resultCache.getMisses(), resultCache.getEvictions()));
+        var matrixCache = customCrafting.getCraftManager().getMatrixCache();
+        chat.sendMessage(p, String.format("Matrix Cache: %d grids, %d hits, %d misses", matrixCache.size(), matrixCache.getHits(), matrixCache.getMisses()));
+        chat.sendMessage(p, String.format("Recipe Visibility Cache: %d players", customCrafting.getRecipeVisibilityCache().size()));
+        chat.sendMessage(p, String.format("Recipe Book Animations: %d players", customCrafting.getRecipeBookAnimator().getViewerCount()));
+        var cookingManager = customCrafting.getCookingManager();
+        chat.sendMessage(p, String.format("Campfire Lookups: %d total, %d without candidates, %d matched",
+                cookingManager.getCampfireLookups(), cookingManager.getCampfireLookupsWithoutCandidates(), cookingManager.getCampfireMatches()));
+        var clickLimiter = customCrafting.getRecipeBookClickLimiter();
+        chat.sendMessage(p, String.format("Recipe Book Click Throttle: %d players, %d allowed, %d throttled", clickLimiter.size(), clickLimiter.getAllowed(), clickLimiter.getThrottled()));
+    }
+
+    private void printConditions(Player p) {
+        var chat = customCrafting.getApi().getChat();
+        var metrics = customCrafting.getConditionMetrics();
+        if (!metrics.isEnabled()) {
+            chat.sendMessage(p, "Condition metrics are disabled! Enable them via recipes.condition_metrics in the config.");
+            return;
+        }
+        chat.sendMessage(p, "Conditions (by time):");
+        metrics.getConditionStats().entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<NamespacedKey, ConditionMetrics.Stats> entry) -> entry.getValue().getNanos()).reversed())
+                .limit(10)
+                .forEach(entry -> chat.sendMessage(p, formatStats(String.valueOf(entry.getKey()), entry.getValue())));
+        chat.sendMessage(p, "Namespaces (by time):");
+        metrics.getNamespaceStats().entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, ConditionMetrics.Stats> entry) -> entry.getValue().getNanos()).reversed())
+                .limit(10)
+                .forEach(entry -> chat.sendMessage(p, formatStats(entry.getKey(), entry.getValue())));
+    }
+
+    private static String formatStats(String name, ConditionMetrics.Stats stats) {
+        return String.format(" - %s: %d checks, %d failed, %.2fms", name, stats.getEvaluations(), stats.getFailures(), stats.getMillis());
+    }
+
     @Override
     protected @Nullable List<String> onTabComplete(@NotNull CommandSender var1, @NotNull String var3, @NotNull String[] var4) {
+        if (var4.length == 1) {
+            return StringUtil.copyPartialMatches(var4[0], List.of("caches", "conditions"), new ArrayList<>());
+        }
+        if (var4.length == 2 && var4[0].equalsIgnoreCase("conditions")) {
+            return StringUtil.copyPartialMatches(var4[1], List.of("reset"), new ArrayList<>());
+        }
         return null;
     }
 }
@@ -64,7 +64,13 @@ public class InfoSubCommand extends AbstractSubCommand {
                 Component.text("    Author: ", NamedTextColor.GRAY).append(Component.text(String.join(", ", customCrafting.getDescription().getAuthors()), null, TextDecoration.BOLD)),
                 Component.empty(),
                 Component.text("    Version: ", NamedTextColor.GRAY).append(Component.text(customCrafting.getDescription().getVersion(), null, TextDecoration.BOLD)),
-                Component.empty(),
-                Component.text("———————————————————————————", NamedTextColor.GRAY));
+                Component.empty());
+        if (customCrafting.getConfigHandler().getConfig().isMatrixCacheEnabled()) {
+            var matrixCache = customCrafting.getCraftManager().getMatrixCache();
+            chat.sendMessages(p,
+                    Component.text("    Matrix Cache: ", NamedTextColor.GRAY).append(Component.text(String.format("%d grids, %d hits, %d misses", matrixCache.size(), matrixCache.getHits(), matrixCache.getMisses()), null, TextDecoration.BOLD)),
+                    Component.empty());
+        }
+        chat.sendMessage(p, Component.text("———————————————————————————", NamedTextColor.GRAY));
     }
 }
@@ -72,6 +72,10 @@ public class ReloadSubCommand extends AbstractSubCommand {
         //Load new data
         sendMessage(sender, Component.text("Reloading Config...", NamedTextColor.YELLOW));
         configHandler.load();
+        customCrafting.getConditionMetrics().setEnabled(configHandler.getConfig().isConditionMetricsEnabled());
+        customCrafting.getRecipeVisibilityCache().load(configHandler.getConfig());
+        customCrafting.getRecipeVisibilityCache().invalidateAll();
+        customCrafting.getRecipeBookClickLimiter().setRate(configHandler.getConfig().getRecipeBookClickInterval(), configHandler.getConfig().getRecipeBookClickBurst());
         sendMessage(sender, Component.text("Loading Recipe & Items...", NamedTextColor.YELLOW));
         dataHandler.load();
         configHandler.getRecipeBookConfig().index(customCrafting);
@@ -39,14 +39,18 @@ import com.comphenix.protocol.utility.MinecraftReflection;
 import com.comphenix.protocol.wrappers.Converters;
 import com.comphenix.protocol.wrappers.MinecraftKey;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import me.wolfyscript.customcrafting.CustomCrafting;
+import me.wolfyscript.customcrafting.handlers.DisableRecipesHandler;
 import me.wolfyscript.customcrafting.recipes.CustomRecipe;
 import me.wolfyscript.customcrafting.recipes.ICustomVanillaRecipe;
+import me.wolfyscript.customcrafting.registry.RegistryRecipes;
 import me.wolfyscript.utilities.util.NamespacedKey;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -57,13 +61,15 @@ public class ProtocolLib {
 
     private final CustomCrafting customCrafting;
     private final ProtocolManager protocolManager;
-    private Function<MinecraftKey, Boolean> recipeFilter;
-    private final Map<UUID, Long> playersLastRecipeBookInteract = new HashMap<>();
-    private static final int RECIPEBOOK_CLICK_DELAY = 100;
+    private Predicate<MinecraftKey> recipeFilter;
+    private final EquivalentConverter<RecipeWrapper> recipeKeyConverter;
+    private final Map<Class<?>, MethodAccessor> idAccessors = new ConcurrentHashMap<>();
+    private volatile VisibleDisplayKeys visibleDisplayKeys = new VisibleDisplayKeys(-1, -1, Map.of());
 
     public ProtocolLib(CustomCrafting customCrafting) {
         this.customCrafting = customCrafting;
         this.protocolManager = ProtocolLibrary.getProtocolManager();
+        this.recipeKeyConverter = createRecipeKeyConverter();
         init();
     }
 
@@ -73,13 +79,10 @@ public class ProtocolLib {
 
     private void registerServerSide() {
         recipeFilter = minecraftKey -> {
-            if (minecraftKey.getKey().startsWith(ICustomVanillaRecipe.PLACEHOLDER_PREFIX)) return false;
-            if (minecraftKey.getKey().startsWith(ICustomVanillaRecipe.DISPLAY_PREFIX)) {
-                CustomRecipe<?> recipe = customCrafting.getRegistries().getRecipes().get(new NamespacedKey(minecraftKey.getPrefix(), minecraftKey.getKey().replace(ICustomVanillaRecipe.PLACEHOLDER_PREFIX, "").replace(ICustomVanillaRecipe.DISPLAY_PREFIX, "")));
-                if (recipe instanceof ICustomVanillaRecipe<?> vanillaRecipe && vanillaRecipe.isVisibleVanillaBook()) {
-                    return !recipe.isHidden() && !recipe.isDisabled();
-                }
-                return false;
+            String key = minecraftKey.getKey();
+            if (key.startsWith(ICustomVanillaRecipe.PLACEHOLDER_PREFIX)) return false;
+            if (key.startsWith(ICustomVanillaRecipe.DISPLAY_PREFIX)) {
+                return getVisibleDisplayKeys().contains(minecraftKey.getPrefix(), key);
             }
             return true;
         };
@@ -100,8 +103,8 @@ public class ProtocolLib {
             @Override
             public void onPacketSending(PacketEvent event) {
                 PacketContainer packet = event.getPacket();
-                StructureModifier<List<RecipeWrapper>> lists = packet.getLists(getRecipeKeyConverter());
-                lists.modify(0, input -> input.stream().filter(recipeWrapper -> recipeFilter.apply(recipeWrapper.getKey())).collect(Collectors.toList()));
+                StructureModifier<List<RecipeWrapper>> lists = packet.getLists(recipeKeyConverter);
+                lists.modify(0, input -> input.stream().filter(recipeWrapper -> recipeFilter.test(recipeWrapper.getKey())).collect(Collectors.toList()));
             }
         });
 
@@ -133,17 +136,8 @@ public class ProtocolLib {
             protocolManager.addPacketListener(new PacketAdapter(customCrafting, ListenerPriority.HIGH, PacketType.Play.Client.AUTO_RECIPE) {
                 @Override
                 public void onPacketReceiving(PacketEvent event) {
-                    long currentMillis = System.currentTimeMillis();
-                    UUID uuid = event.getPlayer().getUniqueId();
-                    if (playersLastRecipeBookInteract.containsKey(uuid)) {
-                        long lastInteract = playersLastRecipeBookInteract.getOrDefault(uuid, 0L);
-                        if (currentMillis - lastInteract <= RECIPEBOOK_CLICK_DELAY) {
-                            event.setCancelled(true);
-                        } else {
-                            playersLastRecipeBookInteract.put(uuid, currentMillis);
-                        }
-                    } else {
-                        playersLastRecipeBookInteract.put(uuid, currentMillis);
+                    if (!customCrafting.getRecipeBookClickLimiter().tryAcquire(event.getPlayer().getUniqueId())) {
+                        event.setCancelled(true);
                     }
                 }
             });
@@ -151,10 +145,48 @@ public class ProtocolLib {
     }
 
     private List<MinecraftKey> filterAndAddMissingRecipes(List<MinecraftKey> input) {
-        return input.stream().filter(recipeFilter::apply).collect(Collectors.toList());
+        return input.stream().filter(recipeFilter).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the keys of the display recipes that are visible in the vanilla recipe book.<br>
+     * The keys are only recomputed when recipes are registered, removed, disabled, or enabled,
+     * so the packet filters only need a lookup per key.
+     *
+     * @return The up-to-date keys of the visible display recipes.
+     */
+    private VisibleDisplayKeys getVisibleDisplayKeys() {
+        RegistryRecipes registry = customCrafting.getRegistries().getRecipes();
+        DisableRecipesHandler disableRecipesHandler = customCrafting.getDisableRecipesHandler();
+        long version = registry.getModificationCount();
+        long disabledVersion = disableRecipesHandler != null ? disableRecipesHandler.getModificationCount() : 0;
+        VisibleDisplayKeys current = visibleDisplayKeys;
+        if (current.version() != version || current.disabledVersion() != disabledVersion) {
+            synchronized (this) {
+                current = visibleDisplayKeys;
+                if (current.version() != version || current.disabledVersion() != disabledVersion) {
+                    Map<String, Set<String>> keys = new HashMap<>();
+                    for (CustomRecipe<?> recipe : registry.values()) {
+                        if (recipe instanceof ICustomVanillaRecipe<?> vanillaRecipe && vanillaRecipe.isVisibleVanillaBook() && !recipe.isHidden() && !recipe.isDisabled()) {
+                            NamespacedKey displayKey = ICustomVanillaRecipe.toDisplayKey(recipe.getNamespacedKey());
+                            keys.computeIfAbsent(displayKey.getNamespace(), namespace -> new HashSet<>()).add(displayKey.getKey());
+                        }
+                    }
+                    Map<String, Set<String>> immutableKeys = new HashMap<>(keys.size() * 2);
+                    keys.forEach((namespace, namespaceKeys) -> immutableKeys.put(namespace, Set.copyOf(namespaceKeys)));
+                    current = new VisibleDisplayKeys(version, disabledVersion, Map.copyOf(immutableKeys));
+                    visibleDisplayKeys = current;
+                }
+            }
+        }
+        return current;
     }
 
     public EquivalentConverter<RecipeWrapper> getRecipeKeyConverter() {
+        return recipeKeyConverter;
+    }
+
+    private EquivalentConverter<RecipeWrapper> createRecipeKeyConverter() {
         return Converters.ignoreNull(new EquivalentConverter<>() {
 
             public Object getGeneric(RecipeWrapper specific) {
@@ -162,8 +194,10 @@ public class ProtocolLib {
             }
 
             public RecipeWrapper getSpecific(Object generic) {
-                FuzzyReflection reflection = FuzzyReflection.fromClass(generic.getClass(), false);
-                MethodAccessor idAccessor = Accessors.getMethodAccessor(reflection.getMethod(FuzzyMethodContract.newBuilder().returnTypeExact(MinecraftReflection.getMinecraftKeyClass()).build()));
+                MethodAccessor idAccessor = idAccessors.computeIfAbsent(generic.getClass(), type -> {
+                    FuzzyReflection reflection = FuzzyReflection.fromClass(type, false);
+                    return Accessors.getMethodAccessor(reflection.getMethod(FuzzyMethodContract.newBuilder().returnTypeExact(MinecraftReflection.getMinecraftKeyClass()).build()));
+                });
                 return new RecipeWrapper(MinecraftKey.fromHandle(idAccessor.invoke(generic)), generic);
             }
 
@@ -173,6 +207,21 @@ public class ProtocolLib {
         });
     }
 
+    /**
+     * Immutable snapshot of the visible display recipe keys, grouped by namespace.
+     *
+     * @param version         The modification count of the recipe registry at creation.
+     * @param disabledVersion The modification count of the disabled recipes at creation.
+     * @param keys            The display keys per namespace.
+     */
+    private record VisibleDisplayKeys(long version, long disabledVersion, Map<String, Set<String>> keys) {
+
+        boolean contains(String namespace, String key) {
+            Set<String> namespaceKeys = keys.get(namespace);
+            return namespaceKeys != null && namespaceKeys.contains(key);
+        }
+    }
+
     /**
      * This wrapper contains data read from a packet using the {@link EquivalentConverter} from {@link #getRecipeKeyConverter()}.
      * It will cache the handle of the recipe, and will be reapplied to the packet.
@@ -40,6 +40,7 @@ public class DataSettings {
     private static final String BUKKIT_VERSION = "bukkit_version";
     private static final String CONFIG_VERSION = "version";
     private static final String SYNC = "sync";
+    private static final String SNAPSHOT = "snapshot";
 
     private final ConfigurationSection section;
 
@@ -61,6 +62,10 @@ public class DataSettings {
         return section.getBoolean(SYNC, false);
     }
 
+    public boolean snapshot() {
+        return section.getBoolean(SNAPSHOT, true);
+    }
+
     public boolean printPending() {
         return section.getBoolean(PRINT_PENDING);
     }
@@ -33,16 +33,19 @@ public class LocalStorageSettings  implements ConfigurationSerializable {
     private static final String LOAD = "load";
     private static final String BEFORE_DATABASE = "before_database";
     private static final String OVERRIDE = "override";
+    private static final String WATCH = "watch";
 
     private final boolean load;
     private final boolean beforeDatabase;
     private final boolean override;
+    private final boolean watch;
     private final BackupSettings backupSettings;
 
     public LocalStorageSettings(Map<String, Object> values) {
         this.load = values.get(LOAD) instanceof Boolean bool && bool;
         this.beforeDatabase = values.get(BEFORE_DATABASE) instanceof Boolean bool && bool;
         this.override = values.get(OVERRIDE) instanceof Boolean bool && bool;
+        this.watch = values.get(WATCH) instanceof Boolean bool && bool;
         ConfigurationSection section = values.get("data") instanceof ConfigurationSection s ? s : null;
         this.backupSettings = section != null ? new BackupSettings(section) : null;
     }
@@ -51,6 +54,7 @@ public class LocalStorageSettings  implements ConfigurationSerializable {
         this.load = section.getBoolean(LOAD);
         this.beforeDatabase = section.getBoolean(BEFORE_DATABASE);
         this.override = section.getBoolean(OVERRIDE);
+        this.watch = section.getBoolean(WATCH);
 
         ConfigurationSection backupSection = section.getConfigurationSection("backup");
         this.backupSettings = backupSection != null ? new BackupSettings(backupSection) : null;
@@ -62,6 +66,7 @@ public class LocalStorageSettings  implements ConfigurationSerializable {
         result.put(LOAD, load);
         result.put(BEFORE_DATABASE, beforeDatabase);
         result.put(OVERRIDE, override);
+        result.put(WATCH, watch);
         return result;
     }
 
@@ -77,6 +82,13 @@ public class LocalStorageSettings  implements ConfigurationSerializable {
         return override;
     }
 
+    /**
+     * @return True if changed files in the data folder should be reloaded automatically.
+     */
+    public boolean isWatch() {
+        return watch;
+    }
+
     public BackupSettings backupSettings() {
         return backupSettings;
     }
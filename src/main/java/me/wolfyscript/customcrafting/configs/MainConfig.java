@@ -163,6 +163,38 @@ public class MainConfig extends YamlConfiguration {
         set("recipes.lockdown", lockdown);
     }
 
+    public boolean isMatrixCacheEnabled() {
+        return getBoolean("recipes.matrix_cache.enable", false);
+    }
+
+    public int getMatrixCacheSize() {
+        return getInt("recipes.matrix_cache.size", 1024);
+    }
+
+    public int getResultCacheExpireAfter() {
+        return getInt("recipes.result_cache.expire_after", 600);
+    }
+
+    public int getResultCacheSize() {
+        return getInt("recipes.result_cache.size", 10000);
+    }
+
+    public int getRecipeVisibilityExpireAfter() {
+        return getInt("recipe_book.visibility_cache.expire_after", 30);
+    }
+
+    public int getRecipeBookClickInterval() {
+        return getInt("recipe_book.click_throttle.interval", 100);
+    }
+
+    public int getRecipeBookClickBurst() {
+        return getInt("recipe_book.click_throttle.burst", 1);
+    }
+
+    public boolean isConditionMetricsEnabled() {
+        return getBoolean("recipes.condition_metrics", false);
+    }
+
     public boolean isBrewingRecipes() {
         return getBoolean("recipes.brewing");
     }
@@ -35,6 +35,7 @@ import me.wolfyscript.customcrafting.recipes.RecipeType;
 import me.wolfyscript.customcrafting.recipes.conditions.Conditions;
 import me.wolfyscript.customcrafting.recipes.conditions.EliteWorkbenchCondition;
 import me.wolfyscript.customcrafting.registry.RegistryRecipes;
+import me.wolfyscript.customcrafting.utils.RecipeVisibilityCache;
 import me.wolfyscript.utilities.util.NamespacedKey;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -54,6 +55,8 @@ public class RecipeContainer implements Comparable<RecipeContainer> {
 
     private final RecipeContainerType type;
     private final RegistryRecipes recipes;
+    private final RecipeVisibilityCache visibilityCache;
+    private volatile RecipeVisibilityCache.RecipeBits recipeBits;
     private final List<CustomRecipe<?>> cachedRecipes;
     //private final Map<UUID, List<ICustomRecipe<?, ?>>> cachedPlayerRecipes = new HashMap<>();
     private final Map<UUID, List<ItemStack>> cachedPlayerItemStacks = new HashMap<>();
@@ -63,6 +66,7 @@ public class RecipeContainer implements Comparable<RecipeContainer> {
 
     public RecipeContainer(CustomCrafting customCrafting, String group) {
         this.recipes = customCrafting.getRegistries().getRecipes();
+        this.visibilityCache = customCrafting.getRecipeVisibilityCache();
         this.type = RecipeContainerType.GROUP;
         this.group = group;
         this.recipe = null;
@@ -71,6 +75,7 @@ public class RecipeContainer implements Comparable<RecipeContainer> {
 
     public RecipeContainer(CustomCrafting customCrafting, NamespacedKey recipe) {
         this.recipes = customCrafting.getRegistries().getRecipes();
+        this.visibilityCache = customCrafting.getRecipeVisibilityCache();
         this.type = RecipeContainerType.RECIPE;
         this.group = null;
         this.recipe = recipe;
@@ -79,6 +84,7 @@ public class RecipeContainer implements Comparable<RecipeContainer> {
 
     public RecipeContainer(CustomCrafting customCrafting, CustomRecipe<?> recipe) {
         this.recipes = customCrafting.getRegistries().getRecipes();
+        this.visibilityCache = customCrafting.getRecipeVisibilityCache();
         if (recipe.getGroup().isEmpty()) {
             this.type = RecipeContainerType.RECIPE;
             this.recipe = recipe.getNamespacedKey();
@@ -97,7 +103,8 @@ public class RecipeContainer implements Comparable<RecipeContainer> {
      * @return The recipes of this container the player has access to.
      */
     public List<CustomRecipe<?>> getRecipes(Player player) {
-        return recipes.filterAvailable(cachedRecipes.stream()).filter(recipe -> recipe.checkCondition("permission", Conditions.Data.of(player))).collect(Collectors.toList()); //Possible strict caching in the future?! return cachedPlayerRecipes.computeIfAbsent(player.getUniqueId(), uuid -> Registry.RECIPES.getAvailable(cachedRecipes, player));
+        if (!canView(player)) return List.of();
+        return cachedRecipes.stream().filter(recipe -> visibilityCache.isVisible(player, recipe)).collect(Collectors.toList());
     }
 
     /**
@@ -107,7 +114,19 @@ public class RecipeContainer implements Comparable<RecipeContainer> {
      * @return True if the player can view the container.
      */
     public boolean canView(Player player) {
-        return cachedRecipes.stream().anyMatch(recipe1 -> !recipe1.isHidden() && !recipe1.isDisabled() && recipe1.checkCondition("permission", Conditions.Data.of(player)));
+        return visibilityCache.isAnyVisible(player, getRecipeBits());
+    }
+
+    /**
+     * @return The bitmap of the recipes of this container, which is recreated when the registered recipes changed.
+     */
+    private RecipeVisibilityCache.RecipeBits getRecipeBits() {
+        RecipeVisibilityCache.RecipeBits bits = recipeBits;
+        if (bits == null || visibilityCache.isOutdated(bits)) {
+            bits = visibilityCache.bitsOf(cachedRecipes);
+            recipeBits = bits;
+        }
+        return bits;
     }
 
     public @Nullable String getGroup() {
@@ -123,7 +142,7 @@ public class RecipeContainer implements Comparable<RecipeContainer> {
     }
 
     public boolean isValid(CacheEliteCraftingTable cacheEliteCraftingTable) {
-        return cachedRecipes.parallelStream().anyMatch(cachedRecipe -> {
+        return cachedRecipes.stream().anyMatch(cachedRecipe -> {
             if (cachedRecipe instanceof CraftingRecipe<?, ?> && (RecipeType.Container.ELITE_CRAFTING.isInstance(cachedRecipe) || cacheEliteCraftingTable.isAdvancedCraftingRecipes())) {
                 if (RecipeType.Container.ELITE_CRAFTING.isInstance(cachedRecipe)) {
                     Conditions conditions = cachedRecipe.getConditions();
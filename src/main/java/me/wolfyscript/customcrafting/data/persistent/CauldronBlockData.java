@@ -56,7 +56,6 @@ import org.bukkit.block.Block;
 import org.bukkit.block.data.Levelled;
 import org.bukkit.block.data.type.Campfire;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 
 public class CauldronBlockData extends CustomBlockData {
@@ -71,9 +70,11 @@ public class CauldronBlockData extends CustomBlockData {
     private CustomRecipeCauldron recipe;
     private int cookingTime;
     private int passedTicks;
-    private BukkitTask ticker;
     private ItemStack[] result;
     private boolean hasViewer = false;
+    // Resolved once and then reused, instead of looking up the chunk and block each tick.
+    private Block block;
+    private CauldronStatus status;
 
     @JsonCreator
     public CauldronBlockData(@JacksonInject Vector pos, @JacksonInject ChunkStorage chunkStorage) {
@@ -92,7 +93,7 @@ public class CauldronBlockData extends CustomBlockData {
             this.recipe = event.getRecipe();
             this.cookingTime = event.getCookingTime();
             this.passedTicks = 0;
-            this.ticker = Bukkit.getScheduler().runTaskTimer(customCrafting, this::tick, 1, 1);
+            customCrafting.getCauldronTicker().activate(this);
         });
     }
 
@@ -140,6 +141,14 @@ public class CauldronBlockData extends CustomBlockData {
         return true;
     }
 
+    /**
+     * @return true if the cauldron is currently cooking a recipe; false if it is idle.
+     */
+    @JsonIgnore
+    public boolean isActive() {
+        return recipe != null;
+    }
+
     @JsonIgnore
     public Optional<CustomRecipeCauldron> getRecipe() {
         return Optional.ofNullable(recipe);
@@ -155,8 +164,8 @@ public class CauldronBlockData extends CustomBlockData {
             resetResult();
             return;
         }
-        if (chunkStorage.getChunk().isEmpty()) return;
-        final Block block = chunkStorage.getChunk().get().getWorld().getBlockAt(pos.getBlockX(), pos.getBlockY(), pos.getBlockZ());
+        final Block block = getBlock().orElse(null);
+        if (block == null) return;
         final Location loc = block.getLocation();
 
         if (passedTicks >= cookingTime) {
@@ -175,6 +184,7 @@ public class CauldronBlockData extends CustomBlockData {
                         levelled.setLevel(newLevel);
                         block.setBlockData(levelled);
                     }
+                    invalidateCauldronStatus();
                 }
                 ItemStack air = new ItemStack(ItemUtils.AIR);
                 Location locCopy = loc.clone();
@@ -194,7 +204,7 @@ public class CauldronBlockData extends CustomBlockData {
         }
 
         getCauldronStatus(block).ifPresent(status -> {
-            final int level = CauldronUtils.getLevel(block);
+            final int level = status.getLevel();
             final World world = block.getWorld();
 
             if (recipe.checkRecipeStatus(status)) {
@@ -213,15 +223,50 @@ public class CauldronBlockData extends CustomBlockData {
 
     }
 
+    /**
+     * Gets the status of the cauldron.<br>
+     * While the cauldron is cooking, the status is cached and only read from the world again after it was invalidated, because the cauldron or the block below it changed.
+     * Changes to idle cauldrons are not tracked, so their status is always read from the world.
+     *
+     * @return The status of the cauldron; or empty if the chunk of the cauldron is not available.
+     */
     @JsonIgnore
     public Optional<CauldronStatus> getCauldronStatus() {
-        if (chunkStorage.getChunk().isEmpty()) return Optional.empty();
-        final Block block = chunkStorage.getChunk().get().getWorld().getBlockAt(pos.getBlockX(), pos.getBlockY(), pos.getBlockZ());
-        return getCauldronStatus(block);
+        return getBlock().flatMap(this::getCauldronStatus);
     }
 
     private Optional<CauldronStatus> getCauldronStatus(Block block) {
-        return Optional.of(new CauldronStatus(block));
+        if (!isActive()) {
+            status = null;
+            return Optional.of(new CauldronStatus(block));
+        }
+        if (status == null) {
+            status = new CauldronStatus(block);
+        }
+        return Optional.of(status);
+    }
+
+    /**
+     * Discards the cached status, so it is read from the world on the next tick.
+     */
+    void invalidateCauldronStatus() {
+        this.status = null;
+    }
+
+    /**
+     * @param changed The block that changed.
+     * @return true if the block is the cauldron itself or the block below it (e.g. the campfire); false otherwise.
+     */
+    boolean isAffectedBy(Block changed) {
+        return changed.getX() == pos.getBlockX() && changed.getZ() == pos.getBlockZ() && (changed.getY() == pos.getBlockY() || changed.getY() == pos.getBlockY() - 1);
+    }
+
+    @JsonIgnore
+    Optional<Block> getBlock() {
+        if (block == null) {
+            chunkStorage.getChunk().ifPresent(chunk -> block = chunk.getWorld().getBlockAt(pos.getBlockX(), pos.getBlockY(), pos.getBlockZ()));
+        }
+        return Optional.ofNullable(block);
     }
 
     private Vector particleLevel(int level) {
@@ -236,10 +281,6 @@ public class CauldronBlockData extends CustomBlockData {
         this.recipe = null;
         this.cookingTime = 0;
         this.passedTicks = 0;
-        if (ticker != null) {
-            this.ticker.cancel();
-            this.ticker = null;
-        }
     }
 
     public void resetResult() {
@@ -248,16 +289,22 @@ public class CauldronBlockData extends CustomBlockData {
 
     @Override
     public void onLoad() {
-        if ((ticker == null || ticker.isCancelled()) && customCrafting.isEnabled()) {
-            ticker = Bukkit.getScheduler().runTaskTimer(customCrafting, this::tick, 1, 1);
+        if (!customCrafting.isEnabled()) return;
+        if (recipe == null) {
+            // Same as the first tick of an idle cauldron, so it doesn't need to be ticked at all
+            reset();
+            resetResult();
+            return;
         }
+        invalidateCauldronStatus();
+        customCrafting.getCauldronTicker().activate(this);
     }
 
     @Override
     public void onUnload() {
-        if (ticker != null) {
-            this.ticker.cancel();
-        }
+        customCrafting.getCauldronTicker().deactivate(this);
+        this.block = null;
+        invalidateCauldronStatus();
     }
 
     @Override
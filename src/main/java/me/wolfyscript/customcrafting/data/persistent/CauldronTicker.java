@@ -0,0 +1,269 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.data.persistent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import me.wolfyscript.customcrafting.CustomCrafting;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFadeEvent;
+import org.bukkit.event.block.BlockIgniteEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.CauldronLevelChangeEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Ticks all the active {@link CauldronBlockData} in a single task, instead of one task per cauldron.<br>
+ * Active cauldrons are grouped by their chunk, so a chunk that is no longer loaded is skipped as a whole.
+ * Idle cauldrons (without a recipe) are not ticked at all, and the task only runs while there is at least one active cauldron.<br>
+ * <br>
+ * The {@link CauldronBlockData.CauldronStatus} of each cauldron is cached and only refreshed when a block of the cauldron, or the block below it, changed.
+ * Changes that do not cause any event (e.g. a campfire that is extinguished by water) are picked up by a full refresh every {@link #STATUS_REFRESH_INTERVAL} ticks.
+ */
+public class CauldronTicker implements Listener {
+
+    static final int STATUS_REFRESH_INTERVAL = 20;
+
+    private final CustomCrafting customCrafting;
+    private final Map<ChunkPos, ChunkCauldrons> activeChunks = new HashMap<>();
+    // Cauldrons that are (de)activated while ticking are only added/removed after the tick, so the iteration is not affected.
+    private final Deque<CauldronBlockData> pendingActivations = new ArrayDeque<>();
+    private final Deque<CauldronBlockData> pendingDeactivations = new ArrayDeque<>();
+    private BukkitTask task;
+    private boolean ticking = false;
+    private long ticks = 0;
+
+    public CauldronTicker(CustomCrafting customCrafting) {
+        this.customCrafting = customCrafting;
+    }
+
+    /**
+     * Starts to tick the cauldron, until its recipe is done or it is unloaded.
+     *
+     * @param cauldron The cauldron to tick.
+     */
+    void activate(CauldronBlockData cauldron) {
+        if (ticking) {
+            pendingActivations.add(cauldron);
+            return;
+        }
+        cauldron.getBlock().ifPresent(block -> {
+            activeChunks.computeIfAbsent(ChunkPos.of(block), pos -> new ChunkCauldrons(block.getWorld(), pos)).cauldrons.add(cauldron);
+            if (task == null && customCrafting.isEnabled()) {
+                task = Bukkit.getScheduler().runTaskTimer(customCrafting, this::tick, 1, 1);
+            }
+        });
+    }
+
+    /**
+     * Stops to tick the cauldron.
+     *
+     * @param cauldron The cauldron to no longer tick.
+     */
+    void deactivate(CauldronBlockData cauldron) {
+        if (ticking) {
+            pendingDeactivations.add(cauldron);
+            return;
+        }
+        cauldron.getBlock().ifPresent(block -> {
+            ChunkPos pos = ChunkPos.of(block);
+            ChunkCauldrons chunk = activeChunks.get(pos);
+            if (chunk != null && chunk.cauldrons.remove(cauldron) && chunk.cauldrons.isEmpty()) {
+                activeChunks.remove(pos);
+            }
+        });
+    }
+
+    /**
+     * @return The amount of cauldrons that are currently ticked.
+     */
+    public int getActiveCount() {
+        return activeChunks.values().stream().mapToInt(chunk -> chunk.cauldrons.size()).sum();
+    }
+
+    /**
+     * Stops the task and forgets all the active cauldrons.<br>
+     * They are activated again, once their chunk is loaded again.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        activeChunks.clear();
+        pendingActivations.clear();
+        pendingDeactivations.clear();
+    }
+
+    private void tick() {
+        ticks++;
+        final boolean refreshStatus = ticks % STATUS_REFRESH_INTERVAL == 0;
+        ticking = true;
+        try {
+            Iterator<ChunkCauldrons> chunkIterator = activeChunks.values().iterator();
+            while (chunkIterator.hasNext()) {
+                ChunkCauldrons chunk = chunkIterator.next();
+                if (!chunk.world.isChunkLoaded(chunk.pos.x(), chunk.pos.z())) continue;
+                Iterator<CauldronBlockData> iterator = chunk.cauldrons.iterator();
+                while (iterator.hasNext()) {
+                    CauldronBlockData cauldron = iterator.next();
+                    if (refreshStatus) {
+                        cauldron.invalidateCauldronStatus();
+                    }
+                    cauldron.tick();
+                    if (!cauldron.isActive()) {
+                        iterator.remove();
+                    }
+                }
+                if (chunk.cauldrons.isEmpty()) {
+                    chunkIterator.remove();
+                }
+            }
+        } finally {
+            ticking = false;
+        }
+        while (!pendingDeactivations.isEmpty()) {
+            deactivate(pendingDeactivations.poll());
+        }
+        while (!pendingActivations.isEmpty()) {
+            activate(pendingActivations.poll());
+        }
+        if (activeChunks.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Invalidates the cached status of the cauldrons, that are affected by a change of the specified block.
+     *
+     * @param block The block that changed.
+     */
+    private void invalidate(Block block) {
+        if (activeChunks.isEmpty()) return;
+        ChunkCauldrons chunk = activeChunks.get(ChunkPos.of(block));
+        if (chunk == null) return;
+        // The block below the cauldron is always in the same chunk, as only the y coordinate differs.
+        for (CauldronBlockData cauldron : chunk.cauldrons) {
+            if (cauldron.isAffectedBy(block)) {
+                cauldron.invalidateCauldronStatus();
+            }
+        }
+    }
+
+    private void invalidateAll(List<Block> blocks) {
+        if (activeChunks.isEmpty()) return;
+        blocks.forEach(this::invalidate);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlace(BlockPlaceEvent event) {
+        invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBreak(BlockBreakEvent event) {
+        invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLevelChange(CauldronLevelChangeEvent event) {
+        invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onIgnite(BlockIgniteEvent event) {
+        invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onFade(BlockFadeEvent event) {
+        invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(EntityChangeBlockEvent event) {
+        invalidate(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        invalidateAll(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        invalidateAll(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onInteract(PlayerInteractEvent event) {
+        // Campfires are lit/extinguished by interacting with them (e.g. using a flint and steel or shovel)
+        if (event.getAction() == Action.RIGHT_CLICK_BLOCK && event.getClickedBlock() != null) {
+            invalidate(event.getClickedBlock());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        if (ticking) return; // The cauldrons are removed via their onUnload method instead
+        activeChunks.remove(new ChunkPos(event.getWorld().getUID(), event.getChunk().getX(), event.getChunk().getZ()));
+    }
+
+    private record ChunkPos(UUID world, int x, int z) {
+
+        static ChunkPos of(Block block) {
+            return new ChunkPos(block.getWorld().getUID(), block.getX() >> 4, block.getZ() >> 4);
+        }
+    }
+
+    private static final class ChunkCauldrons {
+
+        private final World world;
+        private final ChunkPos pos;
+        private final Set<CauldronBlockData> cauldrons = new LinkedHashSet<>();
+
+        private ChunkCauldrons(World world, ChunkPos pos) {
+            this.world = world;
+            this.pos = pos;
+        }
+    }
+}
@@ -31,6 +31,7 @@ import me.wolfyscript.customcrafting.gui.CCWindow;
 import me.wolfyscript.customcrafting.gui.InteractionUtils;
 import me.wolfyscript.customcrafting.gui.main_gui.ClusterMain;
 import me.wolfyscript.customcrafting.listeners.customevents.CauldronPreCookEvent;
+import me.wolfyscript.customcrafting.recipes.CustomRecipeCauldron;
 import me.wolfyscript.customcrafting.recipes.RecipeType;
 import me.wolfyscript.lib.net.kyori.adventure.platform.bukkit.BukkitComponentSerializer;
 import me.wolfyscript.lib.net.kyori.adventure.text.Component;
@@ -84,18 +85,18 @@ public class CauldronWorkstationMenu extends CCWindow {
                         cacheCauldron.setPreCookEvent(null);
                         //cacheCauldron.getInput().set(recipeSlot, itemStack); // Does not properly work when multiple interactions are send in a single tick. (e.g. Inventory Profiles Next Mod)
                         cacheCauldron.getBlock().flatMap(block -> cacheCauldron.getBlockData().flatMap(CauldronBlockData::getCauldronStatus))
-                                .ifPresent(status -> customCrafting.getRegistries().getRecipes().get(RecipeType.CAULDRON).stream()
-                                        .sorted()
-                                        .filter(recipe -> !recipe.isDisabled() && recipe.checkRecipe(cacheCauldron.getInput(), status))
-                                        .findFirst()
-                                        .ifPresent(recipe -> {
-                                            CauldronPreCookEvent preCookEvent = new CauldronPreCookEvent(customCrafting, recipe, player, status.getBlock());
-                                            if (!preCookEvent.isCancelled()) {
-                                                //Cache event results
-                                                cacheCauldron.setPreCookEvent(preCookEvent);
-                                                player.playNote(player.getLocation(), Instrument.BELL, Note.sharp(2, Note.Tone.F));
-                                            }
-                                        }));
+                                .ifPresent(status -> {
+                                    for (CustomRecipeCauldron recipe : customCrafting.getRegistries().getRecipes().getSorted(RecipeType.CAULDRON)) {
+                                        if (recipe.isDisabled() || !recipe.checkRecipe(cacheCauldron.getInput(), status)) continue;
+                                        CauldronPreCookEvent preCookEvent = new CauldronPreCookEvent(customCrafting, recipe, player, status.getBlock());
+                                        if (!preCookEvent.isCancelled()) {
+                                            //Cache event results
+                                            cacheCauldron.setPreCookEvent(preCookEvent);
+                                            player.playNote(player.getLocation(), Instrument.BELL, Note.sharp(2, Note.Tone.F));
+                                        }
+                                        return;
+                                    }
+                                });
                     }).render((cache, guiHandler, player, guiInventory, itemStack, i1) -> {
                         CacheCauldronWorkstation cauldronWorkstation = cache.getCauldronWorkstation();
                         ItemStack stack = cauldronWorkstation.getInput().get(recipeSlot);
@@ -44,12 +44,10 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Supplier;
 
 public class ButtonContainerIngredient extends Button<CCCache> {
 
@@ -63,7 +61,6 @@ public class ButtonContainerIngredient extends Button<CCCache> {
 
     private final Map<GuiHandler<CCCache>, List<StackReference>> variantsMap = new HashMap<>();
     private final Map<GuiHandler<CCCache>, Integer> timings = new HashMap<>();
-    private final Map<GuiHandler<CCCache>, Supplier<Boolean>> tasks = new HashMap<>();
 
     public static NamespacedKey namespacedKey(int slot) {
         return new NamespacedKey(ClusterRecipeBook.KEY, key(slot));
@@ -157,20 +154,18 @@ public class ButtonContainerIngredient extends Button<CCCache> {
             //Only use tasks if there are multiple display items
             final int openPage = guiHandler.getCustomCache().getRecipeBookCache().getSubFolderPage();
             final var openRecipe = guiHandler.getCustomCache().getRecipeBookCache().getCurrentRecipe().getNamespacedKey();
-            synchronized (tasks) {
-                tasks.computeIfAbsent(guiHandler, ccCacheGuiHandler -> () -> {
-                    var recipeBook = guiHandler.getCustomCache().getRecipeBookCache();
-                    if (player != null && slot < inventory.getSize() && !variants.isEmpty() && recipeBook.getSubFolder() != 0 && openPage == recipeBook.getSubFolderPage() && openRecipe.equals(recipeBook.getCurrentRecipe().getNamespacedKey())) {
-                        int variant = getTiming(guiHandler);
-                        variant = ++variant < variants.size() ? variant : 0;
-                        guiInventory.setItem(slot, variants.get(variant).referencedStack());
-                        setTiming(guiHandler, variant);
-                        return false;
-                    }
-                    //Cancel & Remove invalid task
-                    return true;
-                });
-            }
+            plugin.getRecipeBookAnimator().animate(guiHandler, this, RecipeBookAnimator.Cycle.INGREDIENT, () -> {
+                var recipeBook = guiHandler.getCustomCache().getRecipeBookCache();
+                if (player != null && slot < inventory.getSize() && !variants.isEmpty() && recipeBook.getSubFolder() != 0 && openPage == recipeBook.getSubFolderPage() && openRecipe.equals(recipeBook.getCurrentRecipe().getNamespacedKey())) {
+                    int variant = getTiming(guiHandler);
+                    variant = ++variant < variants.size() ? variant : 0;
+                    guiInventory.setItem(slot, variants.get(variant).referencedStack());
+                    setTiming(guiHandler, variant);
+                    return false;
+                }
+                //Cancel & Remove invalid task
+                return true;
+            });
         }
     }
 
@@ -208,14 +203,6 @@ public class ButtonContainerIngredient extends Button<CCCache> {
     }
 
     public void removeTask(GuiHandler<CCCache> guiHandler) {
-        synchronized (tasks) {
-            tasks.remove(guiHandler);
-        }
-    }
-
-    public Collection<Supplier<Boolean>> getTasks() {
-        synchronized (tasks) {
-            return tasks.values();
-        }
+        plugin.getRecipeBookAnimator().remove(guiHandler, this);
     }
 }
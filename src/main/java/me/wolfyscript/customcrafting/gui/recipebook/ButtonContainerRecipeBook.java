@@ -23,6 +23,7 @@
 package me.wolfyscript.customcrafting.gui.recipebook;
 
 import com.wolfyscript.utilities.bukkit.world.items.reference.StackReference;
+import me.wolfyscript.customcrafting.CustomCrafting;
 import me.wolfyscript.customcrafting.configs.recipebook.RecipeContainer;
 import me.wolfyscript.customcrafting.data.CCCache;
 import me.wolfyscript.customcrafting.recipes.CustomRecipe;
@@ -40,22 +41,21 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 
 import java.io.IOException;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Supplier;
 
 class ButtonContainerRecipeBook extends Button<CCCache> {
 
     private final Map<GuiHandler<?>, RecipeContainer> containers = new HashMap<>();
     private final Map<GuiHandler<CCCache>, Integer> timings = new HashMap<>();
-    private final Map<GuiHandler<CCCache>, Supplier<Boolean>> tasks = new HashMap<>();
+    private final CustomCrafting customCrafting;
 
     private static final String KEY = "recipe_book.container_";
 
-    ButtonContainerRecipeBook(int slot) {
+    ButtonContainerRecipeBook(CustomCrafting customCrafting, int slot) {
         super(key(slot), null);
+        this.customCrafting = customCrafting;
     }
 
     static String key(int slot) {
@@ -121,22 +121,18 @@ class ButtonContainerRecipeBook extends Button<CCCache> {
             final var bookCache = guiHandler.getCustomCache().getRecipeBookCache();
             final int openedPage = bookCache.getPage();
             final var currentFilter = bookCache.getCategoryFilter();
-            synchronized (tasks) {
-                tasks.computeIfAbsent(guiHandler, thatGuiHandler ->
-                        () -> {
-                            var newBookCache = thatGuiHandler.getCustomCache().getRecipeBookCache();
-                            if (slot < inventory.getSize() && !displayItems.isEmpty() && openedPage == newBookCache.getPage() && currentFilter.map(filter -> newBookCache.getCategoryFilter().map(filter::equals).orElse(false)).orElse(true)) {
-                                int variant = getTiming(thatGuiHandler);
-                                variant = variant < displayItems.size() - 1 ? ++variant : 0;
-                                guiInventory.setItem(slot, displayItems.get(variant));
-                                setTiming(thatGuiHandler, variant);
-                                return false;
-                            }
-                            //Remove the task if it is no longer valid
-                            return true;
-                        }
-                );
-            }
+            customCrafting.getRecipeBookAnimator().animate(guiHandler, this, RecipeBookAnimator.Cycle.CONTAINER, () -> {
+                var newBookCache = guiHandler.getCustomCache().getRecipeBookCache();
+                if (slot < inventory.getSize() && !displayItems.isEmpty() && openedPage == newBookCache.getPage() && currentFilter.map(filter -> newBookCache.getCategoryFilter().map(filter::equals).orElse(false)).orElse(true)) {
+                    int variant = getTiming(guiHandler);
+                    variant = variant < displayItems.size() - 1 ? ++variant : 0;
+                    guiInventory.setItem(slot, displayItems.get(variant));
+                    setTiming(guiHandler, variant);
+                    return false;
+                }
+                //Remove the task if it is no longer valid
+                return true;
+            });
         }
     }
 
@@ -157,14 +153,6 @@ class ButtonContainerRecipeBook extends Button<CCCache> {
     }
 
     public void removeTask(GuiHandler<CCCache> guiHandler) {
-        synchronized (tasks) {
-            tasks.remove(guiHandler);
-        }
-    }
-
-    public Collection<Supplier<Boolean>> getTasks() {
-        synchronized (tasks) {
-            return tasks.values();
-        }
+        customCrafting.getRecipeBookAnimator().remove(guiHandler, this);
     }
 }
@@ -79,7 +79,7 @@ public class ClusterRecipeView extends CCCluster {
             registerButton(new ButtonContainerIngredient(customCrafting, i));
         }
         for (int i = 0; i < 45; i++) {
-            registerButton(new ButtonContainerRecipeBook(i));
+            registerButton(new ButtonContainerRecipeBook(customCrafting, i));
         }
         //registerConditionDisplays();
     }
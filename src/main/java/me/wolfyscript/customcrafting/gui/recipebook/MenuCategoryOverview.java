@@ -25,7 +25,6 @@ package me.wolfyscript.customcrafting.gui.recipebook;
 import com.wolfyscript.utilities.bukkit.TagResolverUtil;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Supplier;
 import me.wolfyscript.customcrafting.CustomCrafting;
 import me.wolfyscript.customcrafting.configs.recipebook.RecipeContainer;
 import me.wolfyscript.customcrafting.data.CCCache;
@@ -38,34 +37,22 @@ import me.wolfyscript.lib.net.kyori.adventure.text.Component;
 import me.wolfyscript.lib.net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import me.wolfyscript.utilities.api.inventory.gui.GuiHandler;
 import me.wolfyscript.utilities.api.inventory.gui.GuiUpdate;
-import me.wolfyscript.utilities.api.inventory.gui.button.Button;
 import me.wolfyscript.utilities.api.nms.inventory.GUIInventory;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.InventoryView;
-import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.Nullable;
 
 public class MenuCategoryOverview extends CCWindow {
 
     private static final String BACK = "back";
-    private final BukkitTask containerTask;
 
     MenuCategoryOverview(ClusterRecipeBook cluster, CustomCrafting customCrafting) {
         super(cluster, ClusterRecipeBook.CATEGORY_OVERVIEW.getKey(), 54, customCrafting);
-        this.containerTask = Bukkit.getScheduler().runTaskTimerAsynchronously(customCrafting, () -> {
-            for (int i = 0; i < 45; i++) {
-                Button<CCCache> mainContainerBtn = cluster.getButton("recipe_book.container_" + i);
-                if (mainContainerBtn instanceof ButtonContainerRecipeBook cBtn) {
-                    Bukkit.getScheduler().runTask(customCrafting, () -> cBtn.getTasks().removeIf(Supplier::get));
-                }
-            }
-        }, 1, customCrafting.getConfigHandler().getRecipeBookConfig().getVariationCycle().getPeriodRecipe());
     }
 
     public void reset() {
-        this.containerTask.cancel();
+        customCrafting.getRecipeBookAnimator().clear();
     }
 
     @Override
@@ -131,6 +118,7 @@ public class MenuCategoryOverview extends CCWindow {
     public boolean onClose(GuiHandler<CCCache> guiHandler, GUIInventory<CCCache> guiInventory, InventoryView transaction) {
         ButtonContainerIngredient.removeTasks(guiHandler);
         ButtonContainerRecipeBook.resetButtons(guiHandler);
+        customCrafting.getRecipeBookAnimator().removeViewer(guiHandler);
         guiHandler.getCustomCache().getRecipeBookCache().setEliteCraftingTable(null);
         return super.onClose(guiHandler, guiInventory, transaction);
     }
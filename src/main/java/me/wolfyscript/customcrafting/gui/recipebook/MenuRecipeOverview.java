@@ -24,7 +24,6 @@ package me.wolfyscript.customcrafting.gui.recipebook;
 
 import com.wolfyscript.utilities.bukkit.TagResolverUtil;
 import java.util.List;
-import java.util.function.Supplier;
 import me.wolfyscript.customcrafting.CustomCrafting;
 import me.wolfyscript.customcrafting.data.CCCache;
 import me.wolfyscript.customcrafting.data.CCPlayerData;
@@ -40,7 +39,6 @@ import me.wolfyscript.lib.net.kyori.adventure.text.minimessage.tag.resolver.Plac
 import me.wolfyscript.lib.net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import me.wolfyscript.utilities.api.inventory.gui.GuiHandler;
 import me.wolfyscript.utilities.api.inventory.gui.GuiUpdate;
-import me.wolfyscript.utilities.api.inventory.gui.button.Button;
 import me.wolfyscript.utilities.api.inventory.gui.button.CallbackButtonRender;
 import me.wolfyscript.utilities.api.nms.inventory.GUIInventory;
 import me.wolfyscript.utilities.util.NamespacedKey;
@@ -48,11 +46,9 @@ import me.wolfyscript.utilities.util.inventory.PlayerHeadUtils;
 import me.wolfyscript.utilities.util.reflection.InventoryUpdate;
 import me.wolfyscript.utilities.util.version.MinecraftVersion;
 import me.wolfyscript.utilities.util.version.ServerVersion;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.InventoryView;
-import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.Nullable;
 
 public class MenuRecipeOverview extends CCWindow {
@@ -60,22 +56,13 @@ public class MenuRecipeOverview extends CCWindow {
     private static final String BACK = "back";
     private static final String NEXT_RECIPE = "next_recipe";
     private static final String PREVIOUS_RECIPE = "previous_recipe";
-    private final BukkitTask ingredientTask;
 
     MenuRecipeOverview(ClusterRecipeBook cluster, CustomCrafting customCrafting) {
         super(cluster, ClusterRecipeBook.RECIPE_OVERVIEW.getKey(), 54, customCrafting);
-        this.ingredientTask = Bukkit.getScheduler().runTaskTimerAsynchronously(customCrafting, () -> {
-            for (int i = 0; i < 37; i++) {
-                Button<CCCache> btn = cluster.getButton("ingredient.container_" + i);
-                if (btn instanceof ButtonContainerIngredient cBtn) {
-                    Bukkit.getScheduler().runTask(customCrafting, () -> cBtn.getTasks().removeIf(Supplier::get));
-                }
-            }
-        }, 1, customCrafting.getConfigHandler().getRecipeBookConfig().getVariationCycle().getPeriodIngredient());
     }
 
     public void reset() {
-        this.ingredientTask.cancel();
+        customCrafting.getRecipeBookAnimator().clear();
     }
 
     @Override
@@ -197,6 +184,7 @@ public class MenuRecipeOverview extends CCWindow {
     public boolean onClose(GuiHandler<CCCache> guiHandler, GUIInventory<CCCache> guiInventory, InventoryView transaction) {
         ButtonContainerIngredient.removeTasks(guiHandler);
         ButtonContainerRecipeBook.resetButtons(guiHandler);
+        customCrafting.getRecipeBookAnimator().removeViewer(guiHandler);
         guiHandler.getCustomCache().getRecipeBookCache().setEliteCraftingTable(null);
         return super.onClose(guiHandler, guiInventory, transaction);
     }
@@ -98,6 +98,7 @@ public class MenuSingleRecipe extends CCWindow {
     @Override
     public boolean onClose(GuiHandler<CCCache> guiHandler, GUIInventory<CCCache> guiInventory, InventoryView transaction) {
         ButtonContainerIngredient.removeTasks(guiHandler, ClusterRecipeView.KEY);
+        customCrafting.getRecipeBookAnimator().removeViewer(guiHandler);
         guiHandler.getCustomCache().getCacheRecipeView().setRecipe(null);
         guiHandler.getHistory(getCluster()).remove(0);
         return super.onClose(guiHandler, guiInventory, transaction);
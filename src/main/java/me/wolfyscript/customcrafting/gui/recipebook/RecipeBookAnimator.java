@@ -0,0 +1,185 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.gui.recipebook;
+
+import me.wolfyscript.customcrafting.CustomCrafting;
+import me.wolfyscript.customcrafting.configs.recipebook.RecipeBookConfig;
+import me.wolfyscript.customcrafting.data.CCCache;
+import me.wolfyscript.utilities.api.inventory.gui.GuiHandler;
+import me.wolfyscript.utilities.api.inventory.gui.button.Button;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Cycles through the variants of the recipe containers and ingredients, that are displayed in the recipe book.<br>
+ * Only the players that currently have the recipe book open are tracked, and all their animated buttons are advanced in a single pass on the main thread.<br>
+ * <br>
+ * The task only runs while at least one animation is active, so there is no overhead when no one uses the recipe book.
+ */
+public class RecipeBookAnimator {
+
+    private final CustomCrafting customCrafting;
+    private final Map<GuiHandler<CCCache>, Map<Button<CCCache>, Animation>> viewers = new HashMap<>();
+    private BukkitTask task;
+    private int containerPeriod = 30;
+    private int ingredientPeriod = 30;
+    private int period = 1;
+    private long ticks = 0;
+
+    public RecipeBookAnimator(CustomCrafting customCrafting) {
+        this.customCrafting = customCrafting;
+    }
+
+    /**
+     * Adds the animation of the button for the specified GuiHandler, unless the button is already animated for it.<br>
+     * The animation is called once per period of the cycle, until it returns true.
+     *
+     * @param guiHandler The GuiHandler that displays the button.
+     * @param button     The animated button.
+     * @param cycle      The cycle, that specifies the period of the animation.
+     * @param animation  The animation, which advances the variant and returns true once the animation is no longer valid.
+     */
+    synchronized void animate(GuiHandler<CCCache> guiHandler, Button<CCCache> button, Cycle cycle, BooleanSupplier animation) {
+        viewers.computeIfAbsent(guiHandler, handler -> new LinkedHashMap<>()).computeIfAbsent(button, btn -> new Animation(cycle, animation));
+        if (task == null) {
+            start();
+        }
+    }
+
+    /**
+     * Stops the animation of the button for the specified GuiHandler.
+     *
+     * @param guiHandler The GuiHandler that displays the button.
+     * @param button     The animated button.
+     */
+    synchronized void remove(GuiHandler<CCCache> guiHandler, Button<CCCache> button) {
+        Map<Button<CCCache>, Animation> animations = viewers.get(guiHandler);
+        if (animations != null) {
+            animations.remove(button);
+            if (animations.isEmpty()) {
+                viewers.remove(guiHandler);
+            }
+        }
+    }
+
+    /**
+     * Stops all the animations of the specified GuiHandler, e.g. when it closes the recipe book.
+     *
+     * @param guiHandler The GuiHandler to stop the animations for.
+     */
+    public synchronized void removeViewer(GuiHandler<CCCache> guiHandler) {
+        viewers.remove(guiHandler);
+    }
+
+    /**
+     * Stops all the animations, e.g. when the recipe book is reloaded.
+     */
+    public synchronized void clear() {
+        viewers.clear();
+        stop();
+    }
+
+    /**
+     * @return The amount of GuiHandlers that currently have animated buttons.
+     */
+    public synchronized int getViewerCount() {
+        return viewers.size();
+    }
+
+    private void start() {
+        RecipeBookConfig.VariationCycle variationCycle = customCrafting.getConfigHandler().getRecipeBookConfig().getVariationCycle();
+        this.containerPeriod = Math.max(1, variationCycle.getPeriodRecipe());
+        this.ingredientPeriod = Math.max(1, variationCycle.getPeriodIngredient());
+        this.period = gcd(containerPeriod, ingredientPeriod);
+        this.ticks = 0;
+        this.task = Bukkit.getScheduler().runTaskTimer(customCrafting, this::tick, period, period);
+    }
+
+    private void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void tick() {
+        List<Step> due = new ArrayList<>();
+        synchronized (this) {
+            ticks += period;
+            // The player is gone, without the inventory being closed properly.
+            viewers.keySet().removeIf(guiHandler -> guiHandler.getPlayer() == null);
+            viewers.forEach((guiHandler, animations) -> animations.forEach((button, animation) -> {
+                if (ticks % periodOf(animation.cycle()) == 0) {
+                    due.add(new Step(guiHandler, button, animation));
+                }
+            }));
+        }
+        // Run the animations outside the lock, as they update the inventories.
+        List<Step> finished = due.stream().filter(step -> step.animation().step().getAsBoolean()).toList();
+        synchronized (this) {
+            for (Step step : finished) {
+                Map<Button<CCCache>, Animation> animations = viewers.get(step.guiHandler());
+                if (animations != null && animations.remove(step.button(), step.animation()) && animations.isEmpty()) {
+                    viewers.remove(step.guiHandler());
+                }
+            }
+            if (viewers.isEmpty()) {
+                stop();
+            }
+        }
+    }
+
+    private int periodOf(Cycle cycle) {
+        return cycle == Cycle.CONTAINER ? containerPeriod : ingredientPeriod;
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    /**
+     * The cycles of the recipe book, each with the period configured in the {@link RecipeBookConfig.VariationCycle}.
+     */
+    enum Cycle {
+        /**
+         * The display items of the recipe containers in the category overview.
+         */
+        CONTAINER,
+        /**
+         * The ingredients of the displayed recipe.
+         */
+        INGREDIENT
+    }
+
+    private record Animation(Cycle cycle, BooleanSupplier step) {
+    }
+
+    private record Step(GuiHandler<CCCache> guiHandler, Button<CCCache> button, Animation animation) {
+    }
+}
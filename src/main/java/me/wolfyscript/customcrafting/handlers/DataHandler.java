@@ -113,6 +113,7 @@ public class DataHandler implements Listener {
         for (ResourceLoader loader : loaders) {
             loader.load(upgrade);
         }
+        customCrafting.getCookingManager().getFuelIndex().invalidate();
         if (upgrade) {
             config.set("data.version", CustomCrafting.CONFIG_VERSION);
             config.set("data.bukkit_version", CustomCrafting.BUKKIT_VERSION);
@@ -126,6 +127,13 @@ public class DataHandler implements Listener {
         WorldUtils.getWorldCustomItemStore().initiateMissingBlockEffects();
     }
 
+    /**
+     * Closes all the loaders, so pending changes are written before the plugin is disabled.
+     */
+    public void close() {
+        loaders.forEach(ResourceLoader::close);
+    }
+
     public DatabaseLoader getDatabaseLoader() {
         return databaseLoader;
     }
@@ -0,0 +1,224 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.handlers;
+
+import me.wolfyscript.lib.com.fasterxml.jackson.databind.JsonNode;
+import me.wolfyscript.lib.com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * A snapshot of the parsed data files, that is used to skip parsing the (HOCON) files that did not change since the last start.<br>
+ * Each entry is identified by the path of the file relative to the data folder, and is only used if the modification time, size and checksum of the file still match.
+ * The parsed data is stored as compact json, which is a lot faster to parse than the original files.<br>
+ * <br>
+ * Format:
+ * <pre>
+ * int magic, int format version, string plugin version, int entry count
+ * entries: string path, long modified, long size, long checksum, int length, byte[length] json
+ * </pre>
+ * The snapshot is ignored when the format or plugin version changes, or it can't be read for any other reason.
+ */
+class DataSnapshot {
+
+    private static final int MAGIC = 0x43434453;
+    private static final int FORMAT_VERSION = 1;
+
+    private final File file;
+    private final Path root;
+    private final String pluginVersion;
+    private final ObjectMapper fileMapper;
+    // Only used to read and write the compact json of the snapshot, which doesn't need the features of the file mapper.
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private Map<String, Entry> previous = Map.of();
+    private final Map<String, Record> current = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /**
+     * @param file          The file of the snapshot.
+     * @param root          The root directory of the data files.
+     * @param pluginVersion The current version of the plugin.
+     * @param fileMapper    The mapper to parse the data files with.
+     */
+    DataSnapshot(File file, Path root, String pluginVersion, ObjectMapper fileMapper) {
+        this.file = file;
+        this.root = root;
+        this.pluginVersion = pluginVersion;
+        this.fileMapper = fileMapper;
+    }
+
+    /**
+     * Reads the entries of the existing snapshot.<br>
+     * The whole file is read into memory and closed again, so it can be replaced by {@link #save()} while the entries are still in use.
+     *
+     * @return True if the snapshot was read; false if it doesn't exist or is not compatible.
+     */
+    boolean open() {
+        if (!file.isFile()) return false;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || !pluginVersion.equals(readString(buffer))) {
+                return false;
+            }
+            int count = buffer.getInt();
+            Map<String, Entry> entries = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                String path = readString(buffer);
+                long modified = buffer.getLong();
+                long size = buffer.getLong();
+                long checksum = buffer.getLong();
+                byte[] json = new byte[buffer.getInt()];
+                buffer.get(json);
+                entries.put(path, new Entry(modified, size, checksum, json));
+            }
+            this.previous = entries;
+            return true;
+        } catch (IOException | RuntimeException e) {
+            // Corrupt or incomplete snapshot. The files are parsed again.
+            return false;
+        }
+    }
+
+    /**
+     * Reads the data file, either from the snapshot if the file did not change, or by parsing the file.
+     *
+     * @param dataFile The data file to read.
+     * @return The parsed data of the file.
+     * @throws IOException If the file couldn't be read or parsed.
+     */
+    JsonNode readTree(File dataFile) throws IOException {
+        byte[] content = Files.readAllBytes(dataFile.toPath());
+        long modified = dataFile.lastModified();
+        long checksum = checksum(content);
+        String path = root.relativize(dataFile.toPath()).toString().replace(File.separatorChar, '/');
+        Entry entry = previous.get(path);
+        JsonNode tree = null;
+        byte[] json = null;
+        if (entry != null && entry.modified() == modified && entry.size() == content.length && entry.checksum() == checksum) {
+            json = entry.json();
+            try {
+                tree = jsonMapper.readTree(json);
+                hits.incrementAndGet();
+            } catch (IOException e) {
+                tree = null;
+            }
+        }
+        if (tree == null) {
+            // Parse the content that was already read and checksummed, instead of reading the file again.
+            tree = fileMapper.readTree(content);
+            json = jsonMapper.writeValueAsBytes(tree);
+            misses.incrementAndGet();
+        }
+        current.put(path, new Record(modified, content.length, checksum, json));
+        return tree;
+    }
+
+    /**
+     * Writes the files, that were read since the snapshot was opened, to the snapshot.<br>
+     * Files that were not read (e.g. because they were deleted) are no longer included.
+     *
+     * @throws IOException If the snapshot couldn't be written.
+     */
+    void save() throws IOException {
+        Path target = file.toPath();
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (OutputStream stream = Files.newOutputStream(temp); var out = new DataOutputStream(new BufferedOutputStream(stream))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, pluginVersion);
+            out.writeInt(current.size());
+            for (Map.Entry<String, Record> entry : current.entrySet()) {
+                Record record = entry.getValue();
+                writeString(out, entry.getKey());
+                out.writeLong(record.modified());
+                out.writeLong(record.size());
+                out.writeLong(record.checksum());
+                out.writeInt(record.json().length);
+                out.write(record.json());
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // The old snapshot is no longer needed.
+        this.previous = Map.of();
+        this.current.clear();
+    }
+
+    /**
+     * @return The amount of files, that were read from the snapshot.
+     */
+    int getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return The amount of files, that had to be parsed.
+     */
+    int getMisses() {
+        return misses.get();
+    }
+
+    private static long checksum(byte[] content) {
+        var crc = new CRC32();
+        crc.update(content);
+        return crc.getValue();
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * An entry of the existing snapshot, with its json data.
+     */
+    private record Entry(long modified, long size, long checksum, byte[] json) {
+    }
+
+    /**
+     * An entry that is written to the new snapshot.
+     */
+    private record Record(long modified, long size, long checksum, byte[] json) {
+    }
+}
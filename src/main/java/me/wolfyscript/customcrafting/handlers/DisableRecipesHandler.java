@@ -33,6 +33,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.inventory.Recipe;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class DisableRecipesHandler {
 
@@ -41,6 +42,7 @@ public class DisableRecipesHandler {
 
     private final Set<NamespacedKey> recipes = new HashSet<>();
     private final Map<org.bukkit.NamespacedKey, Recipe> cachedRecipes = new WeakHashMap<>();
+    private final AtomicLong modifications = new AtomicLong();
 
     public DisableRecipesHandler(CustomCrafting customCrafting) {
         this.customCrafting = customCrafting;
@@ -73,6 +75,16 @@ public class DisableRecipesHandler {
         return recipes;
     }
 
+    /**
+     * The modification count is increased each time a {@link CustomRecipe} is disabled or enabled.<br>
+     * Caches that depend on the disabled state of recipes can compare it to detect changes.
+     *
+     * @return The current modification count of the disabled custom recipes.
+     */
+    public long getModificationCount() {
+        return modifications.get();
+    }
+
     public void toggleRecipe(CustomRecipe<?> recipe) {
         if (recipe.isDisabled()) {
             enableRecipe(recipe);
@@ -89,6 +101,8 @@ public class DisableRecipesHandler {
     public void disableRecipe(CustomRecipe<?> recipe) {
         var namespacedKey = recipe.getNamespacedKey();
         recipes.add(namespacedKey);
+        modifications.incrementAndGet();
+        customCrafting.getRecipeVisibilityCache().invalidateAll();
         if (recipe instanceof ICustomVanillaRecipe<?>) {
             Bukkit.removeRecipe(new org.bukkit.NamespacedKey(namespacedKey.getNamespace(), namespacedKey.getKey()));
             Bukkit.removeRecipe(ICustomVanillaRecipe.toDisplayKey(namespacedKey).bukkit());
@@ -111,6 +125,8 @@ public class DisableRecipesHandler {
             }
         }
         recipes.remove(namespacedKey);
+        modifications.incrementAndGet();
+        customCrafting.getRecipeVisibilityCache().invalidateAll();
         saveDisabledRecipes();
     }
 
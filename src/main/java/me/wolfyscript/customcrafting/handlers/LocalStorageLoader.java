@@ -38,6 +38,7 @@ import me.wolfyscript.customcrafting.utils.NamespacedKeyUtils;
 import me.wolfyscript.lib.com.fasterxml.jackson.core.type.TypeReference;
 import me.wolfyscript.lib.com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import me.wolfyscript.lib.com.fasterxml.jackson.databind.InjectableValues;
+import me.wolfyscript.lib.com.fasterxml.jackson.databind.JsonNode;
 import me.wolfyscript.utilities.api.inventory.custom_items.CustomItem;
 import me.wolfyscript.utilities.compatibility.PluginIntegration;
 import me.wolfyscript.utilities.util.NamespacedKey;
@@ -65,15 +66,20 @@ public class LocalStorageLoader extends ResourceLoader {
     private static final DateTimeFormatter BACKUP_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss-SSS");
     public static final File DATA_BACKUP_DIR = new File(CustomCrafting.inst().getDataFolder() + File.separator + "data_backups");
     public static final File DATA_FOLDER = new File(CustomCrafting.inst().getDataFolder() + File.separator + "data");
+    private static final File DATA_SNAPSHOT = new File(CustomCrafting.inst().getDataFolder() + File.separator + "cache" + File.separator + "data.snapshot");
     // directories
     private static final String ITEMS_FOLDER = "items";
     private static final String RECIPES_FOLDER = "recipes";
     // log messages
     private static final String LOG_LOADED_RECIPES = PREFIX + "Loaded %d recipes in %sms";
     private static final String LOG_FAILED_RECIPES = PREFIX + "Failed to load %d recipes";
+    private static final TypeReference<CustomRecipe<?>> RECIPE_TYPE_REF = new TypeReference<>() {
+    };
 
     private DataSettings dataSettings;
     private ExecutorService executor;
+    private DataSnapshot snapshot;
+    private LocalStorageWatcher watcher;
 
     protected LocalStorageLoader(CustomCrafting customCrafting) {
         super(customCrafting, new NamespacedKey(customCrafting, "local_loader"));
@@ -151,6 +157,13 @@ public class LocalStorageLoader extends ResourceLoader {
             customCrafting.getLogger().info(PREFIX + "Loading data synchronously");
         }
         executor = Executors.newWorkStealingPool(processors);
+        snapshot = null;
+        if (dataSettings.snapshot()) {
+            snapshot = new DataSnapshot(DATA_SNAPSHOT, DATA_FOLDER.toPath(), customCrafting.getDescription().getVersion(), objectMapper);
+            if (!snapshot.open()) {
+                customCrafting.getLogger().info(PREFIX + "No compatible data snapshot found. All files are parsed.");
+            }
+        }
         api.getConsole().info(PREFIX + "Looking through data folder...");
         String[] dirs = DATA_FOLDER.list();
         if (dirs != null) {
@@ -196,11 +209,36 @@ public class LocalStorageLoader extends ResourceLoader {
                 return;
             }
 
+            saveSnapshot();
             printInvalidRecipes();
             printPendingRecipes();
+            startWatcher();
         }
     }
 
+    private void saveSnapshot() {
+        if (snapshot == null) return;
+        api.getConsole().getLogger().info(String.format(PREFIX + "Used data snapshot for %d files; parsed %d files", snapshot.getHits(), snapshot.getMisses()));
+        try {
+            snapshot.save();
+        } catch (IOException e) {
+            customCrafting.getLogger().log(Level.WARNING, PREFIX + "Failed to save data snapshot!", e);
+        }
+        snapshot = null;
+    }
+
+    /**
+     * Reads the data of the file, either from the snapshot (if enabled and the file did not change), or by parsing the file.
+     *
+     * @param file The file to read.
+     * @return The data of the file.
+     * @throws IOException If the file couldn't be read or parsed.
+     */
+    private JsonNode readTree(File file) throws IOException {
+        DataSnapshot current = snapshot;
+        return current != null ? current.readTree(file) : objectMapper.readTree(file);
+    }
+
     @Override
     public int validatePending(PluginIntegration pluginIntegration) {
         for (CustomRecipe<?> customRecipe : recipeDependencies.keySet()) {
@@ -286,7 +324,7 @@ public class LocalStorageLoader extends ResourceLoader {
             var namespacedKey = keyFromFile(namespace, relative);
             if (isReplaceData() || !customItems.has(namespacedKey)) {
                 try {
-                    customItems.register(namespacedKey, objectMapper.readValue(file.toFile(), CustomItem.class));
+                    customItems.register(namespacedKey, objectMapper.readerFor(CustomItem.class).readValue(readTree(file.toFile())));
                 } catch (IOException e) {
                     if (e.getCause() instanceof MissingImplementationException missingDependencyException) {
                         customCrafting.getLogger().severe(String.format("Could not load item '%s': %s", namespacedKey, missingDependencyException.getMessage()));
@@ -400,6 +438,156 @@ public class LocalStorageLoader extends ResourceLoader {
         return false;
     }
 
+    /**
+     * Parses the recipe file of the new format.
+     *
+     * @param namespacedKey The key of the recipe.
+     * @param file          The file of the recipe.
+     * @return The parsed recipe; or null if it failed to load, in which case it is marked as failed.
+     */
+    private CustomRecipe<?> readRecipe(NamespacedKey namespacedKey, File file) {
+        try {
+            var injectableValues = new InjectableValues.Std();
+            injectableValues.addValue("key", namespacedKey);
+            injectableValues.addValue("customcrafting", customCrafting);
+            return objectMapper.reader(injectableValues).forType(RECIPE_TYPE_REF).readValue(readTree(file));
+        } catch (IOException e) {
+            markFailed(namespacedKey);
+            if (e.getCause() instanceof MissingImplementationException missingDependencyException) {
+                ChatUtils.sendRecipeItemLoadingError(PREFIX, namespacedKey.getNamespace(), namespacedKey.getKey(), missingDependencyException, false);
+            } else {
+                ChatUtils.sendRecipeItemLoadingError(PREFIX, namespacedKey.getNamespace(), namespacedKey.getKey(), e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Reparses the changed files in the data folder and updates the registered recipes and items.<br>
+     * The files are parsed on the watcher thread, while the registries are updated in a single task on the main thread.<br>
+     * Only the files of the current format (the items and recipes folders) are watched.
+     *
+     * @param changedFiles The created, modified or deleted files.
+     */
+    private void applyChanges(Set<Path> changedFiles) {
+        StopWatch stopWatch = StopWatch.createStarted();
+        List<Runnable> updates = new ArrayList<>();
+        boolean recipesChanged = false;
+        boolean itemsChanged = false;
+        var recipes = customCrafting.getRegistries().getRecipes();
+        var customItems = api.getRegistries().getCustomItems();
+        for (Path path : changedFiles) {
+            Path relative = DATA_FOLDER.toPath().relativize(path);
+            if (isDeletedFolder(path)) {
+                // Deleting or moving a folder only reports the folder itself, so everything that was loaded from it is removed.
+                String folder = relative.getNameCount() >= 2 ? relative.getName(1).toString() : null;
+                String prefix = relative.getName(0) + "/" + (relative.getNameCount() >= 3 ? toKeyPath(relative.subpath(2, relative.getNameCount())) + "/" : "");
+                if (folder == null || folder.equals(RECIPES_FOLDER)) {
+                    recipesChanged = true;
+                    updates.add(() -> recipes.get(NamespacedKeyUtils.NAMESPACE).stream()
+                            .map(CustomRecipe::getNamespacedKey)
+                            .filter(key -> key.getKey().startsWith(prefix))
+                            .toList()
+                            .forEach(recipes::remove));
+                }
+                if (folder == null || folder.equals(ITEMS_FOLDER)) {
+                    itemsChanged = true;
+                    updates.add(() -> customItems.get(NamespacedKeyUtils.NAMESPACE).stream()
+                            .map(CustomItem::getNamespacedKey)
+                            .filter(key -> key.getKey().startsWith(prefix))
+                            .toList()
+                            .forEach(customItems::remove));
+                }
+                continue;
+            }
+            if (relative.getNameCount() < 3 || isValidFile(path.toFile())) continue;
+            String folder = relative.getName(1).toString();
+            if (!folder.equals(RECIPES_FOLDER) && !folder.equals(ITEMS_FOLDER)) continue;
+            NamespacedKey namespacedKey = keyFromFile(relative.getName(0).toString(), relative.subpath(2, relative.getNameCount()));
+            // The data may still exist in the file with the other extension.
+            File file = getFileAt(namespacedKey, folder);
+            if (!file.isFile()) {
+                file = getFileAtJson(namespacedKey, folder);
+            }
+            if (folder.equals(RECIPES_FOLDER)) {
+                recipesChanged = true;
+                if (!file.isFile()) {
+                    updates.add(() -> recipes.remove(namespacedKey));
+                    continue;
+                }
+                CustomRecipe<?> recipe = readRecipe(namespacedKey, file);
+                if (recipe != null) {
+                    updates.add(() -> checkDependenciesAndRegister(recipe));
+                }
+            } else {
+                itemsChanged = true;
+                if (!file.isFile()) {
+                    updates.add(() -> customItems.remove(namespacedKey));
+                    continue;
+                }
+                try {
+                    CustomItem customItem = objectMapper.readerFor(CustomItem.class).readValue(readTree(file));
+                    updates.add(() -> customItems.register(namespacedKey, customItem));
+                } catch (IOException e) {
+                    customCrafting.getLogger().log(Level.SEVERE, String.format("Could not load item '%s': ", namespacedKey), e);
+                }
+            }
+        }
+        if (updates.isEmpty()) return;
+        final boolean reindex = recipesChanged;
+        final boolean invalidateFuels = itemsChanged;
+        Bukkit.getScheduler().runTask(customCrafting, () -> {
+            updates.forEach(Runnable::run);
+            if (invalidateFuels) {
+                customCrafting.getCookingManager().getFuelIndex().invalidate();
+            }
+            if (reindex) {
+                customCrafting.getConfigHandler().getRecipeBookConfig().index(customCrafting);
+            }
+            stopWatch.stop();
+            api.getConsole().getLogger().info(String.format(PREFIX + "Reloaded %d changed files in %sms", updates.size(), stopWatch.getTime(TimeUnit.MILLISECONDS)));
+        });
+    }
+
+    /**
+     * @param path The changed path.
+     * @return true if the path no longer exists and has no file extension, so it was a folder; false otherwise.
+     */
+    private static boolean isDeletedFolder(Path path) {
+        return !Files.exists(path) && !path.getFileName().toString().contains(".");
+    }
+
+    private static String toKeyPath(Path path) {
+        String pathString = path.toString();
+        return File.separator.equals("/") ? pathString : pathString.replace(File.separatorChar, '/');
+    }
+
+    private void startWatcher() {
+        if (watcher != null) {
+            // Stop the previous watcher, so it is only restarted if watching is still enabled in the reloaded config.
+            watcher.stop();
+            watcher = null;
+        }
+        if (!customCrafting.getConfigHandler().getConfig().getLocalStorageSettings().isWatch()) return;
+        watcher = new LocalStorageWatcher(customCrafting, DATA_FOLDER.toPath(), this::applyChanges);
+        try {
+            watcher.start();
+            api.getConsole().getLogger().info(PREFIX + "Watching the data folder for changes");
+        } catch (IOException e) {
+            customCrafting.getLogger().log(Level.SEVERE, PREFIX + "Failed to watch the data folder for changes!", e);
+            watcher.stop();
+            watcher = null;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (watcher != null) {
+            watcher.stop();
+            watcher = null;
+        }
+    }
+
     private void checkDependenciesAndRegister(CustomRecipe<?> recipe) {
         Set<Dependency> dependencies = DependencyResolver.resolveDependenciesFor(recipe, recipe.getClass());
         dependencies.removeIf(Dependency::isAvailable);
@@ -468,29 +656,14 @@ public class LocalStorageLoader extends ResourceLoader {
         }
 
         private void loadRecipesInNamespace(String namespace) {
-            TypeReference<CustomRecipe<?>> recipeTypeRef = new TypeReference<>() {
-            };
             readFiles(namespace, RECIPES_FOLDER, (relative, file, attrs) -> {
                 if (isValidFile(file.toFile())) return FileVisitResult.CONTINUE;
                 final var namespacedKey = keyFromFile(namespace, relative);
                 if (isReplaceData() || !customCrafting.getRegistries().getRecipes().has(namespacedKey)) {
                     executeTask(() -> {
-                        try {
-                            var injectableValues = new InjectableValues.Std();
-                            injectableValues.addValue("key", namespacedKey);
-                            injectableValues.addValue("customcrafting", customCrafting);
-
-                            CustomRecipe<?> recipe = objectMapper.reader(injectableValues).forType(recipeTypeRef).readValue(file.toFile());
+                        CustomRecipe<?> recipe = readRecipe(namespacedKey, file.toFile());
+                        if (recipe != null) {
                             checkDependenciesAndRegister(recipe);
-
-                        } catch (IOException e) {
-                            markFailed(namespacedKey);
-
-                            if (e.getCause() instanceof MissingImplementationException missingDependencyException) {
-                                ChatUtils.sendRecipeItemLoadingError(PREFIX, namespacedKey.getNamespace(), namespacedKey.getKey(), missingDependencyException, false);
-                            } else {
-                                ChatUtils.sendRecipeItemLoadingError(PREFIX, namespacedKey.getNamespace(), namespacedKey.getKey(), e);
-                            }
                         }
                     });
                 }
@@ -561,7 +734,7 @@ public class LocalStorageLoader extends ResourceLoader {
                 if (!customCrafting.getRegistries().getRecipes().has(namespacedKey)) {
                     executeTask(() -> {
                         try {
-                            CustomRecipe<?> recipe = loader.getInstance(namespacedKey, objectMapper.readTree(file));
+                            CustomRecipe<?> recipe = loader.getInstance(namespacedKey, readTree(file));
                             checkDependenciesAndRegister(recipe);
                         } catch (IOException | InstantiationException | InvocationTargetException | NoSuchMethodException |
                                  IllegalAccessException e) {
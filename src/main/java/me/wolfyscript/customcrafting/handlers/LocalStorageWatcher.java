@@ -0,0 +1,169 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.handlers;
+
+import me.wolfyscript.customcrafting.CustomCrafting;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Watches the data folder for created, modified and deleted files, and passes the changed files to the {@link LocalStorageLoader}.<br>
+ * Changes are collected until no new change happened for a short time, so that saving multiple files (or one file multiple times) results in a single update.
+ */
+class LocalStorageWatcher {
+
+    private static final long QUIET_PERIOD_MILLIS = 500;
+
+    private final CustomCrafting customCrafting;
+    private final Path root;
+    private final Consumer<Set<Path>> onChange;
+    private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+    private WatchService watchService;
+    private Thread thread;
+
+    /**
+     * @param customCrafting The plugin instance.
+     * @param root           The root folder to watch, including all sub-folders.
+     * @param onChange       Called on the watcher thread with the changed files.
+     */
+    LocalStorageWatcher(CustomCrafting customCrafting, Path root, Consumer<Set<Path>> onChange) {
+        this.customCrafting = customCrafting;
+        this.root = root;
+        this.onChange = onChange;
+    }
+
+    void start() throws IOException {
+        if (thread != null) return;
+        watchService = FileSystems.getDefault().newWatchService();
+        registerAll(root);
+        thread = new Thread(this::run, "CustomCrafting-Data-Watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() {
+        if (thread == null) return;
+        thread.interrupt();
+        thread = null;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            customCrafting.getLogger().log(Level.WARNING, "Failed to close data watcher!", e);
+        }
+        directories.clear();
+    }
+
+    private void run() {
+        Set<Path> changed = new LinkedHashSet<>();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                // Block until the first change, then collect further changes until it is quiet again.
+                WatchKey key = changed.isEmpty() ? watchService.take() : watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    try {
+                        onChange.accept(Set.copyOf(changed));
+                    } catch (RuntimeException e) {
+                        customCrafting.getLogger().log(Level.SEVERE, "Failed to apply changed data files!", e);
+                    }
+                    changed.clear();
+                    continue;
+                }
+                Path directory = directories.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        rescan(directory != null ? directory : root, changed);
+                        continue;
+                    }
+                    if (directory == null) continue;
+                    Path path = directory.resolve((Path) event.context());
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                        // New folders are registered, and the files that were already copied into them are included.
+                        registerAll(path);
+                        try (var files = Files.walk(path)) {
+                            files.filter(Files::isRegularFile).forEach(changed::add);
+                        }
+                    } else {
+                        changed.add(path);
+                    }
+                }
+                if (!key.reset()) {
+                    directories.remove(key);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        } catch (IOException e) {
+            customCrafting.getLogger().log(Level.SEVERE, "Data watcher stopped unexpectedly!", e);
+        }
+    }
+
+    /**
+     * Called when the events of the directory were lost, because too many changes happened at once.<br>
+     * All files of the directory are read again, and new sub-folders are registered.
+     * Files that were deleted in the meantime can't be detected that way, so they are only removed by the next reload.
+     *
+     * @param directory The directory that lost events.
+     * @param changed   The collected changes, to add the files to.
+     * @throws IOException If the directory couldn't be walked.
+     */
+    private void rescan(Path directory, Set<Path> changed) throws IOException {
+        customCrafting.getLogger().warning("Too many changes in '" + root.relativize(directory) + "' at once! Reading all of its files again. Deleted files are only removed by the next reload.");
+        if (!Files.isDirectory(directory)) {
+            // The directory itself was deleted, which is handled like any other deleted folder.
+            changed.add(directory);
+            return;
+        }
+        registerAll(directory);
+        try (var files = Files.walk(directory)) {
+            files.filter(Files::isRegularFile).forEach(changed::add);
+        }
+    }
+
+    private void registerAll(Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                WatchKey key = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+                directories.put(key, dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -142,6 +142,13 @@ public abstract class ResourceLoader implements Comparable<ResourceLoader>, Keye
 
     public boolean backup() { return true; }
 
+    /**
+     * Called when the plugin is disabled, to write pending changes and free the resources of this loader.
+     */
+    public void close() {
+
+    }
+
     /**
      * Saves the specified recipe
      *
@@ -35,6 +35,7 @@ import me.wolfyscript.utilities.api.inventory.custom_items.CustomItem;
 import me.wolfyscript.utilities.api.network.database.sql.SQLDataBase;
 import me.wolfyscript.utilities.compatibility.PluginIntegration;
 import me.wolfyscript.utilities.util.NamespacedKey;
+import org.apache.commons.lang3.time.StopWatch;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
@@ -42,22 +43,35 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 
 public class SQLDatabaseLoader extends DatabaseLoader {
 
     private static final String PREFIX = "[MYSQL] ";
+    private static final int RECIPE_FETCH_SIZE = 500;
+    private static final int RECIPE_BATCH_SIZE = 256;
     protected List<NamespacedKey> loaded;
     protected List<NamespacedKey> skippedError;
     protected List<NamespacedKey> skippedAlreadyExisting;
 
     private final SQLDataBase dataBase;
+    private final SQLWriteQueue writeQueue;
 
     public SQLDatabaseLoader(CustomCrafting customCrafting) {
         super(customCrafting, new NamespacedKey(customCrafting, "database_loader"));
         DatabaseSettings settings = config.getDatabaseSettings();
         this.dataBase = new SQLDataBase(api, settings.getHost(), settings.getSchema(), settings.getUsername(), settings.getPassword(), settings.getPort());
+        this.writeQueue = new SQLWriteQueue(customCrafting, new SQLDataBase(api, settings.getHost(), settings.getSchema(), settings.getUsername(), settings.getPassword(), settings.getPort()));
         init();
         this.loaded = new ArrayList<>();
         this.skippedError = new ArrayList<>();
@@ -81,6 +95,8 @@ public class SQLDatabaseLoader extends DatabaseLoader {
      */
     @Override
     public void load() {
+        // Make sure the data is loaded including the changes that are not written yet.
+        writeQueue.flush();
         api.getConsole().info("- - - - [Database Storage] - - - -");
         loadItems();
         loadRecipes();
@@ -93,12 +109,20 @@ public class SQLDatabaseLoader extends DatabaseLoader {
     }
 
     /**
-     * This does nothing when using the database, since the data is queried and updated
-     * when saving single recipes and items.
+     * Writes the pending changes of the recipes and items to the database.<br>
+     * Single recipes and items are saved in the background shortly after they changed, so this is usually not required.
      */
     @Override
     public void save() {
+        writeQueue.flush();
+    }
 
+    /**
+     * Writes the pending changes to the database and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        writeQueue.close();
     }
 
     /**
@@ -124,13 +148,8 @@ public class SQLDatabaseLoader extends DatabaseLoader {
 
     @Override
     public boolean delete(CustomRecipe<?> recipe) {
-        try {
-            PreparedStatement pState = dataBase.open().prepareStatement("DELETE FROM customcrafting_recipes WHERE rNamespace=? AND rKey=?");
-            setNamespacedKey(pState, recipe.getNamespacedKey(), 1, 2);
-            dataBase.executeAsyncUpdate(pState);
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        NamespacedKey namespacedKey = recipe.getNamespacedKey();
+        writeQueue.delete(SQLWriteQueue.Table.RECIPES, NamespacedKeyUtils.getKeyRoot(namespacedKey), NamespacedKeyUtils.getRelativeKeyObjPath(namespacedKey));
         return true;
     }
 
@@ -143,42 +162,96 @@ public class SQLDatabaseLoader extends DatabaseLoader {
         return false;
     }
 
+    /**
+     * Loads all the recipes with a single query.<br>
+     * The rows are streamed from the database, parsed in parallel, and registered in the order of the rows.
+     */
     public void loadRecipes() {
+        writeQueue.flush();
         loaded.clear();
         skippedError.clear();
         skippedAlreadyExisting.clear();
         api.getConsole().info(PREFIX + "$msg.startup.recipes.recipes$");
-        try (PreparedStatement recipesQuery = dataBase.open().prepareStatement("SELECT * FROM customcrafting_recipes")) {
-            ResultSet resultSet = recipesQuery.executeQuery();
-            if (resultSet == null) {
-                return;
-            }
-            while (resultSet.next()) {
-                String namespace = resultSet.getString("rNamespace");
-                String key = resultSet.getString("rKey");
+        StopWatch stopWatch = StopWatch.createStarted();
+        var registry = customCrafting.getRegistries().getRecipes();
+        int processors = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), config.getDataSettings().maxProcessors()));
+        ExecutorService executor = Executors.newWorkStealingPool(processors);
+        try (PreparedStatement recipesQuery = dataBase.open().prepareStatement("SELECT rNamespace, rKey, rType, rData FROM customcrafting_recipes", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            streamRecipes(recipesQuery, executor, (namespace, key) -> {
                 NamespacedKey namespacedKey = new NamespacedKey(customCrafting, namespace + "/" + key);
-                if (isReplaceData() || !customCrafting.getRegistries().getRecipes().has(namespacedKey)) {
-                    CustomRecipe<?> recipe = getRecipe(namespacedKey);
-                    if (recipe != null) {
-                        customCrafting.getRegistries().getRecipes().register(recipe);
-                        loaded.add(namespacedKey);
-                    } else {
-                        skippedError.add(namespacedKey);
-                    }
-                } else {
+                if (!isReplaceData() && registry.has(namespacedKey)) {
                     skippedAlreadyExisting.add(namespacedKey);
+                    return null;
                 }
-            }
+                return namespacedKey;
+            }, this::parseRecipe, (namespacedKey, recipe) -> {
+                if (recipe != null) {
+                    registry.register(recipe);
+                    loaded.add(namespacedKey);
+                } else {
+                    skippedError.add(namespacedKey);
+                }
+            });
         } catch (SQLException ex) {
             ex.printStackTrace();
         } finally {
+            executor.shutdownNow();
             dataBase.close();
         }
-        api.getConsole().getLogger().info(String.format(PREFIX + "Loaded %d recipes; Skipped: %d error/s, %d already existing", loaded.size(), skippedError.size(), skippedAlreadyExisting.size()));
+        stopWatch.stop();
+        api.getConsole().getLogger().info(String.format(PREFIX + "Loaded %d recipes in %sms; Skipped: %d error/s, %d already existing", loaded.size(), stopWatch.getTime(TimeUnit.MILLISECONDS), skippedError.size(), skippedAlreadyExisting.size()));
+    }
+
+    /**
+     * Streams the rows of the recipe query, parses them on the executor, and passes the parsed recipes to the consumer in the order of the rows.<br>
+     * Only up to two batches of rows are parsed ahead of the consumer, so the memory usage doesn't depend on the amount of rows.
+     *
+     * @param recipesQuery The query, that selects the namespace, key, type and data of the recipes, in that order.
+     * @param executor     The executor to parse the recipes with.
+     * @param keyFactory   Creates the key of the row from its namespace and key; or returns null to skip the row.
+     * @param parser       Parses the recipe of the row. Called on the executor.
+     * @param consumer     Called on the calling thread with the key and the parsed recipe; or null if it couldn't be parsed.
+     * @param <T>          The type of the parsed recipes.
+     * @throws SQLException If the rows couldn't be read.
+     */
+    static <T> void streamRecipes(PreparedStatement recipesQuery, ExecutorService executor, BiFunction<String, String, NamespacedKey> keyFactory, RecipeParser<T> parser, BiConsumer<NamespacedKey, T> consumer) throws SQLException {
+        Deque<PendingRecipe<T>> pending = new ArrayDeque<>();
+        // Only a hint, drivers that ignore it still load all the recipes with this single query.
+        recipesQuery.setFetchSize(RECIPE_FETCH_SIZE);
+        try (ResultSet resultSet = recipesQuery.executeQuery()) {
+            while (resultSet.next()) {
+                NamespacedKey namespacedKey = keyFactory.apply(resultSet.getString(1), resultSet.getString(2));
+                if (namespacedKey == null) continue;
+                String typeID = resultSet.getString(3);
+                String data = resultSet.getString(4);
+                pending.add(new PendingRecipe<>(namespacedKey, executor.submit(() -> parser.parse(namespacedKey, typeID, data))));
+                if (pending.size() >= RECIPE_BATCH_SIZE * 2) {
+                    // Pass on the oldest batch, while the workers continue to parse the newer rows.
+                    completeRecipes(pending, RECIPE_BATCH_SIZE, consumer);
+                }
+            }
+        }
+        completeRecipes(pending, pending.size(), consumer);
+    }
+
+    private static <T> void completeRecipes(Deque<PendingRecipe<T>> pending, int amount, BiConsumer<NamespacedKey, T> consumer) {
+        for (int i = 0; i < amount && !pending.isEmpty(); i++) {
+            PendingRecipe<T> pendingRecipe = pending.poll();
+            T recipe = null;
+            try {
+                recipe = pendingRecipe.recipe().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                ChatUtils.sendRecipeItemLoadingError(PREFIX, pendingRecipe.key().getNamespace(), pendingRecipe.key().getKey(), e);
+            }
+            consumer.accept(pendingRecipe.key(), recipe);
+        }
     }
 
     public void loadItems() {
         api.getConsole().info(PREFIX + "$msg.startup.recipes.items$");
+        writeQueue.flush();
         try (PreparedStatement itemsQuery = dataBase.open().prepareStatement("SELECT * FROM customcrafting_items")) {
             ResultSet resultSet = itemsQuery.executeQuery();
             if (resultSet == null) return;
@@ -217,6 +290,7 @@ public class SQLDatabaseLoader extends DatabaseLoader {
     }
 
     public ResultSet getRecipeData(NamespacedKey namespacedKey) {
+        writeQueue.flush();
         try {
             PreparedStatement pState = dataBase.open().prepareStatement("SELECT rType, rData FROM customcrafting_recipes WHERE rNamespace=? AND rKey=?");
             setNamespacedKey(pState, namespacedKey, 1, 2);
@@ -230,25 +304,10 @@ public class SQLDatabaseLoader extends DatabaseLoader {
     public CustomRecipe<?> getRecipe(NamespacedKey namespacedKey) {
         ResultSet resultSet = getRecipeData(namespacedKey);
         try {
-            var injectableValues = new InjectableValues.Std();
-            injectableValues.addValue("key", namespacedKey);
-            injectableValues.addValue("customcrafting", customCrafting);
             while (resultSet.next()) {
-                String typeID = resultSet.getString("rType");
-                String data = resultSet.getString("rData");
-                try {
-                    if (typeID == null || typeID.isBlank()) {
-                        return objectMapper.reader(injectableValues).readValue(data, CustomRecipe.class);
-                    }
-                    RecipeLoader<?> loader = RecipeType.valueOf(typeID);
-                    if (loader == null && RecipeType.Container.valueOf(typeID) instanceof RecipeLoader<?> recipeLoader) {
-                        loader = recipeLoader;
-                    }
-                    if (loader != null) {
-                        return loader.getInstance(namespacedKey, customCrafting.getApi().getJacksonMapperUtil().getGlobalMapper().readTree(data));
-                    }
-                } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException | InstantiationException | IOException e) {
-                    ChatUtils.sendRecipeItemLoadingError(PREFIX, namespacedKey.getNamespace(), namespacedKey.getKey(), e);
+                CustomRecipe<?> recipe = parseRecipe(namespacedKey, resultSet.getString("rType"), resultSet.getString("rData"));
+                if (recipe != null) {
+                    return recipe;
                 }
             }
             resultSet.getStatement().close();
@@ -258,44 +317,57 @@ public class SQLDatabaseLoader extends DatabaseLoader {
         return null;
     }
 
-    public void addRecipe(CustomRecipe<?> data) {
+    /**
+     * Parses the recipe from the data of a database row.
+     *
+     * @param namespacedKey The key of the recipe.
+     * @param typeID        The type of the recipe; or empty if the type is contained in the data.
+     * @param data          The json data of the recipe.
+     * @return The parsed recipe; or null if it couldn't be parsed.
+     */
+    protected CustomRecipe<?> parseRecipe(NamespacedKey namespacedKey, String typeID, String data) {
+        var injectableValues = new InjectableValues.Std();
+        injectableValues.addValue("key", namespacedKey);
+        injectableValues.addValue("customcrafting", customCrafting);
         try {
-            PreparedStatement pState = dataBase.open().prepareStatement("INSERT INTO customcrafting_recipes (rNamespace, rKey, rType, rData) VALUES (?, ?, ?, ?)");
-            setNamespacedKey(pState, data.getNamespacedKey(), 1, 2);
-            pState.setString(3, ""); //No longer save the type. The type is contained in the json data now.
-            pState.setString(4, customCrafting.getApi().getJacksonMapperUtil().getGlobalMapper().writeValueAsString(data));
-            dataBase.executeAsyncUpdate(pState);
-        } catch (SQLException | JsonProcessingException e) {
-            e.printStackTrace();
+            if (typeID == null || typeID.isBlank()) {
+                return objectMapper.reader(injectableValues).readValue(data, CustomRecipe.class);
+            }
+            RecipeLoader<?> loader = RecipeType.valueOf(typeID);
+            if (loader == null && RecipeType.Container.valueOf(typeID) instanceof RecipeLoader<?> recipeLoader) {
+                loader = recipeLoader;
+            }
+            if (loader != null) {
+                return loader.getInstance(namespacedKey, customCrafting.getApi().getJacksonMapperUtil().getGlobalMapper().readTree(data));
+            }
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException | InstantiationException | IOException e) {
+            ChatUtils.sendRecipeItemLoadingError(PREFIX, namespacedKey.getNamespace(), namespacedKey.getKey(), e);
         }
+        return null;
     }
 
+    public void addRecipe(CustomRecipe<?> data) {
+        updateRecipe(data);
+    }
+
+    /**
+     * Queues the recipe to be inserted or updated in the database.<br>
+     * Multiple updates of the same recipe in a short time are combined into a single write.
+     *
+     * @param data The recipe to save.
+     */
     public void updateRecipe(CustomRecipe<?> data) {
-        if (hasRecipe(data.getNamespacedKey())) {
-            try {
-                PreparedStatement pState = dataBase.open().prepareStatement("UPDATE customcrafting_recipes SET rType=?, rData=? WHERE rNamespace=? AND rKey=?");
-                pState.setString(1, "");
-                pState.setString(2, customCrafting.getApi().getJacksonMapperUtil().getGlobalMapper().writeValueAsString(data));
-                setNamespacedKey(pState, data.getNamespacedKey(), 3, 4);
-                dataBase.executeAsyncUpdate(pState);
-            } catch (SQLException | JsonProcessingException e) {
-                e.printStackTrace();
-            }
-        } else {
-            addRecipe(data);
+        try {
+            NamespacedKey namespacedKey = data.getNamespacedKey();
+            writeQueue.upsert(SQLWriteQueue.Table.RECIPES, NamespacedKeyUtils.getKeyRoot(namespacedKey), NamespacedKeyUtils.getRelativeKeyObjPath(namespacedKey), customCrafting.getApi().getJacksonMapperUtil().getGlobalMapper().writeValueAsString(data));
+        } catch (JsonProcessingException e) {
+            e.printStackTrace();
         }
     }
 
     @Deprecated
     public void removeRecipe(String namespace, String key) {
-        try {
-            PreparedStatement pState = dataBase.open().prepareStatement("DELETE FROM customcrafting_recipes WHERE rNamespace=? AND rKey=?");
-            pState.setString(1, namespace);
-            pState.setString(2, key);
-            dataBase.executeAsyncUpdate(pState);
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        writeQueue.delete(SQLWriteQueue.Table.RECIPES, namespace, key);
     }
 
     public boolean hasItem(NamespacedKey namespacedKey) {
@@ -309,6 +381,7 @@ public class SQLDatabaseLoader extends DatabaseLoader {
     }
 
     public ResultSet getItem(NamespacedKey namespacedKey) {
+        writeQueue.flush();
         try {
             PreparedStatement pState = dataBase.open().prepareStatement("SELECT rData FROM customcrafting_items WHERE rNamespace=? AND rKey=?");
             setNamespacedKey(pState, namespacedKey, 1, 2);
@@ -320,39 +393,40 @@ public class SQLDatabaseLoader extends DatabaseLoader {
     }
 
     public void addItem(NamespacedKey namespacedKey, CustomItem data) {
-        try {
-            PreparedStatement pState = dataBase.open().prepareStatement("INSERT INTO customcrafting_items (rNamespace, rKey, rData) VALUES (?, ?, ?)");
-            setNamespacedKey(pState, namespacedKey, 1, 2);
-            pState.setString(3, customCrafting.getApi().getJacksonMapperUtil().getGlobalMapper().writeValueAsString(data));
-            dataBase.executeAsyncUpdate(pState);
-        } catch (SQLException | JsonProcessingException e) {
-            e.printStackTrace();
-        }
+        updateItem(namespacedKey, data);
     }
 
+    /**
+     * Queues the item to be inserted or updated in the database.<br>
+     * Multiple updates of the same item in a short time are combined into a single write.
+     *
+     * @param namespacedKey The key of the item.
+     * @param data          The item to save.
+     */
     public void updateItem(NamespacedKey namespacedKey, CustomItem data) {
-        if (hasItem(namespacedKey)) {
-            try {
-                PreparedStatement pState = dataBase.open().prepareStatement("UPDATE customcrafting_items SET rData=? WHERE rNamespace=? AND rKey=?");
-                pState.setString(1, customCrafting.getApi().getJacksonMapperUtil().getGlobalMapper().writeValueAsString(data));
-                setNamespacedKey(pState, namespacedKey, 2, 3);
-                dataBase.executeAsyncUpdate(pState);
-            } catch (SQLException | JsonProcessingException e) {
-                e.printStackTrace();
-            }
-        } else {
-            addItem(namespacedKey, data);
+        try {
+            writeQueue.upsert(SQLWriteQueue.Table.ITEMS, NamespacedKeyUtils.getKeyRoot(namespacedKey), NamespacedKeyUtils.getRelativeKeyObjPath(namespacedKey), customCrafting.getApi().getJacksonMapperUtil().getGlobalMapper().writeValueAsString(data));
+        } catch (JsonProcessingException e) {
+            e.printStackTrace();
         }
     }
 
     public void removeItem(NamespacedKey namespacedKey) {
-        try {
-            PreparedStatement pState = dataBase.open().prepareStatement("DELETE FROM customcrafting_items WHERE rNamespace=? AND rKey=?");
-            setNamespacedKey(pState, namespacedKey, 1, 2);
-            dataBase.executeAsyncUpdate(pState);
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
+        writeQueue.delete(SQLWriteQueue.Table.ITEMS, NamespacedKeyUtils.getKeyRoot(namespacedKey), NamespacedKeyUtils.getRelativeKeyObjPath(namespacedKey));
+    }
+
+    /**
+     * Parses the recipe of a database row.
+     *
+     * @param <T> The type of the parsed recipe.
+     */
+    @FunctionalInterface
+    interface RecipeParser<T> {
+
+        T parse(NamespacedKey namespacedKey, String typeID, String data);
+    }
+
+    private record PendingRecipe<T>(NamespacedKey key, Future<T> recipe) {
     }
 
     private void setNamespacedKey(PreparedStatement stmt, NamespacedKey namespacedKey, int paramNamespace, int paramKey) throws SQLException {
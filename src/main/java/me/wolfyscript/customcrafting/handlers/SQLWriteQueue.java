@@ -0,0 +1,268 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.handlers;
+
+import me.wolfyscript.customcrafting.CustomCrafting;
+import me.wolfyscript.utilities.api.network.database.sql.SQLDataBase;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Collects the changes to the recipes and items, and writes them to the database in batches on a dedicated thread.<br>
+ * Multiple changes of the same recipe or item are combined, so only the latest one is written.<br>
+ * <br>
+ * Uses a separate connection, so the writes do not interfere with the queries of the {@link SQLDatabaseLoader}.
+ */
+class SQLWriteQueue {
+
+    private static final String PREFIX = "[MYSQL] ";
+    private static final int BATCH_SIZE = 500;
+    private static final long FLUSH_DELAY_MILLIS = 1000;
+
+    private final CustomCrafting customCrafting;
+    private final SQLDataBase dataBase;
+    private final ScheduledExecutorService executor;
+    // Insertion ordered, so changes are written in the order they were made.
+    private final Map<Key, Write> pending = new LinkedHashMap<>();
+    private boolean flushScheduled = false;
+    private boolean writing = false;
+    private boolean closed = false;
+
+    SQLWriteQueue(CustomCrafting customCrafting, SQLDataBase dataBase) {
+        this.customCrafting = customCrafting;
+        this.dataBase = dataBase;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            var thread = new Thread(runnable, "CustomCrafting-SQL-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Inserts or replaces the data of the entry.
+     *
+     * @param table     The table of the entry.
+     * @param namespace The namespace of the entry.
+     * @param key       The key of the entry.
+     * @param data      The json data of the entry.
+     */
+    void upsert(Table table, String namespace, String key, String data) {
+        enqueue(new Key(table, namespace, key), data);
+    }
+
+    /**
+     * Deletes the entry.
+     *
+     * @param table     The table of the entry.
+     * @param namespace The namespace of the entry.
+     * @param key       The key of the entry.
+     */
+    void delete(Table table, String namespace, String key) {
+        enqueue(new Key(table, namespace, key), null);
+    }
+
+    /**
+     * Writes all pending changes and waits until they are written.<br>
+     * Returns immediately if there are no pending changes, or the queue is closed, as changes are written directly after that.
+     */
+    void flush() {
+        synchronized (this) {
+            if (closed || (pending.isEmpty() && !writing)) return;
+        }
+        awaitWrite();
+    }
+
+    private void awaitWrite() {
+        try {
+            executor.submit(this::write).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            customCrafting.getLogger().log(Level.SEVERE, PREFIX + "Failed to write pending changes!", e);
+        }
+    }
+
+    /**
+     * Writes all pending changes and stops the writer thread.
+     */
+    void close() {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+        }
+        awaitWrite();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                customCrafting.getLogger().warning(PREFIX + "Timed out while writing pending changes!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // In case the writer was stopped before it wrote everything.
+        write();
+    }
+
+    synchronized int size() {
+        return pending.size();
+    }
+
+    private void enqueue(Key key, String data) {
+        boolean flushNow;
+        synchronized (this) {
+            // Remove first, so the entry moves to the end of the order.
+            pending.remove(key);
+            pending.put(key, new Write(data));
+            if (closed) {
+                flushNow = true;
+            } else {
+                flushNow = pending.size() >= BATCH_SIZE;
+                if (!flushNow && !flushScheduled) {
+                    flushScheduled = true;
+                    executor.schedule(this::write, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+        if (flushNow) {
+            if (closed) {
+                write();
+            } else {
+                executor.execute(this::write);
+            }
+        }
+    }
+
+    private void write() {
+        Map<Key, Write> writes;
+        synchronized (this) {
+            flushScheduled = false;
+            if (pending.isEmpty()) return;
+            writes = new LinkedHashMap<>(pending);
+            pending.clear();
+            writing = true;
+        }
+        try {
+            write(writes);
+        } finally {
+            synchronized (this) {
+                writing = false;
+            }
+        }
+    }
+
+    private void write(Map<Key, Write> writes) {
+        synchronized (dataBase) {
+            Map<Table, PreparedStatement> upserts = new EnumMap<>(Table.class);
+            Map<Table, PreparedStatement> deletes = new EnumMap<>(Table.class);
+            try {
+                Connection connection = dataBase.open();
+                for (Map.Entry<Key, Write> entry : writes.entrySet()) {
+                    Key key = entry.getKey();
+                    if (entry.getValue().data() != null) {
+                        PreparedStatement statement = upserts.get(key.table());
+                        if (statement == null) {
+                            statement = connection.prepareStatement(key.table().upsert);
+                            upserts.put(key.table(), statement);
+                        }
+                        statement.setString(1, key.namespace());
+                        statement.setString(2, key.key());
+                        statement.setString(3, entry.getValue().data());
+                        statement.addBatch();
+                    } else {
+                        PreparedStatement statement = deletes.get(key.table());
+                        if (statement == null) {
+                            statement = connection.prepareStatement(key.table().delete);
+                            deletes.put(key.table(), statement);
+                        }
+                        statement.setString(1, key.namespace());
+                        statement.setString(2, key.key());
+                        statement.addBatch();
+                    }
+                }
+                for (PreparedStatement statement : upserts.values()) {
+                    statement.executeBatch();
+                }
+                for (PreparedStatement statement : deletes.values()) {
+                    statement.executeBatch();
+                }
+            } catch (SQLException e) {
+                customCrafting.getLogger().log(Level.SEVERE, PREFIX + "Failed to write " + writes.size() + " changes! They are retried with the next write.", e);
+                synchronized (this) {
+                    // Newer changes of the same entries take precedence.
+                    writes.forEach(pending::putIfAbsent);
+                }
+            } finally {
+                for (PreparedStatement statement : upserts.values()) {
+                    closeQuietly(statement);
+                }
+                for (PreparedStatement statement : deletes.values()) {
+                    closeQuietly(statement);
+                }
+                dataBase.close();
+            }
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // The connection is closed afterwards anyway.
+        }
+    }
+
+    /**
+     * The tables of the database, with the statements to change their entries.
+     */
+    enum Table {
+        RECIPES("INSERT INTO customcrafting_recipes (rNamespace, rKey, rType, rData) VALUES (?, ?, '', ?) ON DUPLICATE KEY UPDATE rType='', rData=VALUES(rData)",
+                "DELETE FROM customcrafting_recipes WHERE rNamespace=? AND rKey=?"),
+        ITEMS("INSERT INTO customcrafting_items (rNamespace, rKey, rData) VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE rData=VALUES(rData)",
+                "DELETE FROM customcrafting_items WHERE rNamespace=? AND rKey=?");
+
+        private final String upsert;
+        private final String delete;
+
+        Table(String upsert, String delete) {
+            this.upsert = upsert;
+            this.delete = delete;
+        }
+    }
+
+    private record Key(Table table, String namespace, String key) {
+    }
+
+    /**
+     * @param data The data to insert or replace; or null to delete the entry.
+     */
+    private record Write(String data) {
+    }
+}
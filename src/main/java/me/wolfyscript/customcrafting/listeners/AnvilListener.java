@@ -27,7 +27,6 @@ import java.util.*;
 import com.wolfyscript.utilities.bukkit.world.items.reference.StackReference;
 import me.wolfyscript.customcrafting.CustomCrafting;
 import me.wolfyscript.customcrafting.recipes.CustomRecipeAnvil;
-import me.wolfyscript.customcrafting.recipes.RecipeType;
 import me.wolfyscript.customcrafting.recipes.conditions.Conditions;
 import me.wolfyscript.customcrafting.recipes.data.AnvilData;
 import me.wolfyscript.customcrafting.recipes.data.IngredientData;
@@ -50,9 +49,9 @@ import org.bukkit.inventory.meta.Repairable;
 
 public class AnvilListener implements Listener {
 
-    private static final int DELAY = 3;
     private static final HashMap<UUID, AnvilData> preCraftedRecipes = new HashMap<>();
-    private final HashSet<UUID> playerDelay = new HashSet<>();
+    // The results to apply on the next tick. The event is called multiple times per interaction, so only the latest result is applied once.
+    private final Map<UUID, PendingResult> pendingResults = new HashMap<>();
 
     private final CustomCrafting customCrafting;
 
@@ -73,10 +72,6 @@ public class AnvilListener implements Listener {
             event.setResult(null);
             return; // Maybe some first events are missing both items? No need to continue then.
         }
-        // The Event is called multiple times, so we ignore the last few events.
-        if (playerDelay.contains(player.getUniqueId())) return;
-        playerDelay.add(player.getUniqueId());
-        Bukkit.getScheduler().runTask(customCrafting, () -> playerDelay.remove(player.getUniqueId())); // Free player for the next event lifecycle.
         preCraftedRecipes.remove(player.getUniqueId());
 
         Conditions.Data data = Conditions.Data.of(player, player.getOpenInventory());
@@ -84,60 +79,70 @@ public class AnvilListener implements Listener {
             data.setBlock(inventory.getLocation().getBlock());
         }
 
-        customCrafting.getRegistries().getRecipes().get(RecipeType.ANVIL).stream()
-                .sorted()
-                .filter(customRecipeAnvil -> !customRecipeAnvil.isDisabled() && customRecipeAnvil.checkConditions(data))
-                .map(recipe -> {
-                    Optional<StackReference> finalInputLeft = Optional.empty();
-                    Optional<StackReference> finalInputRight = Optional.empty();
-                    if (recipe.hasInputLeft() && (finalInputLeft = recipe.getInputLeft().checkChoices(inputLeft, recipe.isCheckNBT())).isEmpty()) return null;
-                    if (recipe.hasInputRight() && (finalInputRight = recipe.getInputRight().checkChoices(inputRight, recipe.isCheckNBT())).isEmpty()) return null;
-                    //Recipe is valid at this point!
-                    return new AnvilData(recipe, new IngredientData[]{
-                            new IngredientData(0, 0, recipe.getInputLeft(), finalInputLeft.orElse(null), inputLeft),
-                            new IngredientData(1, 1, recipe.getInputRight(), finalInputRight.orElse(null), inputRight)}
-                    );
-                })
-                .filter(Objects::nonNull)
-                .findFirst()
-                .ifPresent(anvilData -> {
-                    CustomRecipeAnvil recipe = anvilData.getRecipe();
-                    //Set the result depending on what is configured!
-                    final StackReference resultItem = recipe.getRepairTask().compute(recipe, event, anvilData, player, inputLeft, inputRight);
-                    final ItemStack finalResult = recipe.getResult().item(anvilData, resultItem, player, null);
-
-                    int repairCost = Math.max(1, recipe.getRepairCost());
-                    var inputMeta = inputLeft.getItemMeta();
-                    //Configure the Repair cost
-                    if (inputMeta instanceof Repairable repairable) {
-                        int itemRepairCost = repairable.getRepairCost();
-                        if (recipe.getRepairCostMode().equals(CustomRecipeAnvil.RepairCostMode.ADD)) {
-                            repairCost = repairCost + itemRepairCost;
-                        } else if (recipe.getRepairCostMode().equals(CustomRecipeAnvil.RepairCostMode.MULTIPLY)) {
-                            repairCost = recipe.getRepairCost() * (itemRepairCost > 0 ? itemRepairCost : 1);
-                        }
-                    }
-                    //Apply the repair cost to the result.
-                    if (recipe.isApplyRepairCost()) {
-                        var itemMeta = finalResult.getItemMeta();
-                        if (itemMeta instanceof Repairable repairable) {
-                            repairable.setRepairCost(repairCost);
-                            finalResult.setItemMeta(itemMeta);
-                        }
-                    }
+        // Only the recipes with inputs of the same materials are checked, and the conditions only for the recipes whose inputs match.
+        AnvilData anvilData = findRecipe(inputLeft, inputRight, data);
+        if (anvilData == null) {
+            // The result that is still pending belongs to the previous inputs, so it must not be applied.
+            pendingResults.remove(player.getUniqueId());
+            return;
+        }
+        CustomRecipeAnvil recipe = anvilData.getRecipe();
+        //Set the result depending on what is configured!
+        final StackReference resultItem = recipe.getRepairTask().compute(recipe, event, anvilData, player, inputLeft, inputRight);
+        final ItemStack finalResult = recipe.getResult().item(anvilData, resultItem, player, null);
+
+        int repairCost = Math.max(1, recipe.getRepairCost());
+        var inputMeta = inputLeft.getItemMeta();
+        //Configure the Repair cost
+        if (inputMeta instanceof Repairable repairable) {
+            int itemRepairCost = repairable.getRepairCost();
+            if (recipe.getRepairCostMode().equals(CustomRecipeAnvil.RepairCostMode.ADD)) {
+                repairCost = repairCost + itemRepairCost;
+            } else if (recipe.getRepairCostMode().equals(CustomRecipeAnvil.RepairCostMode.MULTIPLY)) {
+                repairCost = recipe.getRepairCost() * (itemRepairCost > 0 ? itemRepairCost : 1);
+            }
+        }
+        //Apply the repair cost to the result.
+        if (recipe.isApplyRepairCost()) {
+            var itemMeta = finalResult.getItemMeta();
+            if (itemMeta instanceof Repairable repairable) {
+                repairable.setRepairCost(repairCost);
+                finalResult.setItemMeta(itemMeta);
+            }
+        }
 
-                    preCraftedRecipes.put(player.getUniqueId(), anvilData); // Save current active recipe to consume correct item inputs!
-                    event.setResult(repairCost > 0 ? finalResult : null);
-                    inventory.setRepairCost(repairCost);
-                    int finalRepairCost = repairCost;
-                    Bukkit.getScheduler().runTask(customCrafting, () -> {
-                        event.setResult(finalResult);
-                        inventory.setItem(2, finalResult);
-                        inventory.setRepairCost(finalRepairCost);
-                        player.updateInventory();
-                    });
-                    player.updateInventory();
-                });
+        preCraftedRecipes.put(player.getUniqueId(), anvilData); // Save current active recipe to consume correct item inputs!
+        event.setResult(repairCost > 0 ? finalResult : null);
+        inventory.setRepairCost(repairCost);
+        // Only the first event of the tick schedules the task, the later events replace the result it applies.
+        if (pendingResults.put(player.getUniqueId(), new PendingResult(event, finalResult, repairCost)) == null) {
+            Bukkit.getScheduler().runTask(customCrafting, () -> {
+                PendingResult pending = pendingResults.remove(player.getUniqueId());
+                if (pending == null) return; // A later event found no recipe.
+                pending.event().setResult(pending.result());
+                pending.event().getInventory().setItem(2, pending.result());
+                pending.event().getInventory().setRepairCost(pending.repairCost());
+                player.updateInventory();
+            });
+        }
+        player.updateInventory();
+    }
+
+    private AnvilData findRecipe(ItemStack inputLeft, ItemStack inputRight, Conditions.Data data) {
+        for (CustomRecipeAnvil recipe : customCrafting.getRegistries().getRecipes().getAnvilCandidates(inputLeft, inputRight)) {
+            if (recipe.isDisabled()) continue;
+            Optional<StackReference> finalInputLeft = Optional.empty();
+            Optional<StackReference> finalInputRight = Optional.empty();
+            if (recipe.hasInputLeft() && (finalInputLeft = recipe.getInputLeft().checkChoices(inputLeft, recipe.isCheckNBT())).isEmpty()) continue;
+            if (recipe.hasInputRight() && (finalInputRight = recipe.getInputRight().checkChoices(inputRight, recipe.isCheckNBT())).isEmpty()) continue;
+            if (!recipe.checkConditions(data)) continue;
+            //Recipe is valid at this point!
+            return new AnvilData(recipe, new IngredientData[]{
+                    new IngredientData(0, 0, recipe.getInputLeft(), finalInputLeft.orElse(null), inputLeft),
+                    new IngredientData(1, 1, recipe.getInputRight(), finalInputRight.orElse(null), inputRight)}
+            );
+        }
+        return null;
     }
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -187,6 +192,9 @@ public class AnvilListener implements Listener {
         }
     }
 
+    private record PendingResult(PrepareAnvilEvent event, ItemStack result, int repairCost) {
+    }
+
     private void consumeInputItem(AnvilInventory inventory, StackReference input, IngredientData ingredient, int slot) {
         if (input != null && inventory.getItem(slot) != null) {
             inventory.setItem(slot, input.shrink(ingredient.itemStack(), 1, true, inventory, null, null));
@@ -0,0 +1,334 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.listeners;
+
+import com.wolfyscript.lib.nbt.nbtapi.NBTTileEntity;
+import com.wolfyscript.utilities.bukkit.world.items.reference.StackReference;
+import me.wolfyscript.customcrafting.CustomCrafting;
+import me.wolfyscript.customcrafting.recipes.CustomRecipeBrewing;
+import me.wolfyscript.customcrafting.recipes.RecipeType;
+import me.wolfyscript.customcrafting.recipes.conditions.Conditions;
+import me.wolfyscript.customcrafting.registry.RegistryRecipes;
+import me.wolfyscript.utilities.util.Pair;
+import me.wolfyscript.utilities.util.inventory.ItemUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.BrewingStand;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.inventory.BrewerInventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.PotionMeta;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Brews the custom brewing recipes of all brewing stands in a single task, instead of one task per brewing stand.<br>
+ * <br>
+ * Clicks into a brewing stand only schedule a check of its recipes, so multiple clicks within the same ticks cause a single check.
+ * The check only looks at the recipes, that have an ingredient of the same type as the item in the ingredient slot.<br>
+ * The progress bar is only updated while a player is viewing the brewing stand, as it is not visible otherwise.<br>
+ * Active brewing stands are grouped by their chunk, so they are removed when the chunk is unloaded.
+ */
+public class BrewingStandTicker implements Listener {
+
+    private static final int BREW_TIME = 400;
+    // The amount of ticks to wait after a click, so the inventory is updated before it is checked.
+    private static final int CHECK_DELAY = 2;
+
+    private final CustomCrafting customCrafting;
+    private final Map<ChunkPos, Map<Location, BrewingProcess>> activeChunks = new HashMap<>();
+    private final Map<Location, PendingCheck> pendingChecks = new LinkedHashMap<>();
+    private BukkitTask task;
+    private long ticks = 0;
+
+    public BrewingStandTicker(CustomCrafting customCrafting) {
+        this.customCrafting = customCrafting;
+    }
+
+    /**
+     * Schedules a check of the recipes of the brewing stand.<br>
+     * If there is already a check scheduled for that brewing stand, it keeps its tick, but is run for the latest player and inventory.
+     *
+     * @param inventory The inventory of the brewing stand.
+     * @param player    The player that changed the inventory.
+     */
+    public void scheduleCheck(BrewerInventory inventory, Player player) {
+        Location location = inventory.getLocation();
+        if (location == null) return;
+        pendingChecks.compute(location, (loc, pending) -> new PendingCheck(inventory, player, pending != null ? pending.dueTick() : ticks + CHECK_DELAY));
+        startTask();
+    }
+
+    /**
+     * @return The amount of brewing stands that are currently brewing a custom recipe.
+     */
+    public int getActiveCount() {
+        return activeChunks.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * Stops the task and cancels all the active brewing processes.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        activeChunks.clear();
+        pendingChecks.clear();
+    }
+
+    private void startTask() {
+        if (task == null && customCrafting.isEnabled()) {
+            task = Bukkit.getScheduler().runTaskTimer(customCrafting, this::tick, 1, 1);
+        }
+    }
+
+    private void tick() {
+        ticks++;
+        if (!pendingChecks.isEmpty()) {
+            Iterator<PendingCheck> iterator = pendingChecks.values().iterator();
+            while (iterator.hasNext()) {
+                PendingCheck check = iterator.next();
+                if (check.dueTick() > ticks) continue;
+                iterator.remove();
+                check(check.inventory(), check.player());
+            }
+        }
+        Iterator<Map<Location, BrewingProcess>> chunkIterator = activeChunks.values().iterator();
+        while (chunkIterator.hasNext()) {
+            Map<Location, BrewingProcess> processes = chunkIterator.next();
+            processes.values().removeIf(process -> !process.tick());
+            if (processes.isEmpty()) {
+                chunkIterator.remove();
+            }
+        }
+        if (activeChunks.isEmpty() && pendingChecks.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private Optional<BrewingProcess> getProcess(Location location) {
+        return Optional.ofNullable(activeChunks.get(ChunkPos.of(location))).map(processes -> processes.get(location));
+    }
+
+    private void removeProcess(Location location) {
+        ChunkPos pos = ChunkPos.of(location);
+        Map<Location, BrewingProcess> processes = activeChunks.get(pos);
+        if (processes != null && processes.remove(location) != null && processes.isEmpty()) {
+            activeChunks.remove(pos);
+        }
+    }
+
+    /**
+     * Checks which recipes are valid for the current contents of the brewing stand, and starts, updates or cancels its brewing process accordingly.
+     */
+    private void check(BrewerInventory inventory, Player player) {
+        final Location location = inventory.getLocation();
+        if (location == null) return;
+        final ItemStack ingredient = inventory.getItem(3);
+        if (ItemUtils.isAirOrNull(ingredient)) {
+            removeProcess(location);
+            return;
+        }
+        var brewingStand = inventory.getHolder();
+        if (brewingStand == null) return;
+        NBTTileEntity brewingStandEntity = new NBTTileEntity(brewingStand);
+        int fuelLevel = brewingStandEntity.getInteger("Fuel");
+        //Check if recipe is correct. The candidates are sorted by priority, so the first valid recipe sets the brew time and ingredient.
+        Map<CustomRecipeBrewing, StackReference> brewingRecipeList = new LinkedHashMap<>();
+        //Check if at least one slot contains an item
+        if (!ItemUtils.isAirOrNull(inventory.getItem(0)) || !ItemUtils.isAirOrNull(inventory.getItem(1)) || !ItemUtils.isAirOrNull(inventory.getItem(2))) {
+            RegistryRecipes recipes = customCrafting.getRegistries().getRecipes();
+            //Only the recipes with an ingredient of the same type need to be checked
+            recipes.filterAvailable(recipes.getByIngredient(RecipeType.BREWING_STAND, ingredient).stream())
+                    .filter(recipe -> fuelLevel >= recipe.getFuelCost())
+                    .filter(recipe -> recipe.checkCondition("permission", Conditions.Data.of(player)))
+                    .forEach(recipe -> recipe.getIngredient().checkChoices(ingredient, recipe.isCheckNBT()).ifPresent(reference -> {
+                        //Ingredient is valid
+                        //Checking for valid item in the bottom 3 slots of the brewing inventory
+                        if (!recipe.getAllowedItems().isEmpty()) {
+                            for (int i = 0; i < 3; i++) {
+                                ItemStack itemStack = inventory.getItem(i);
+                                if (!ItemUtils.isAirOrNull(itemStack) && !recipe.getAllowedItems().test(itemStack, recipe.isCheckNBT())) {
+                                    return;
+                                }
+                            }
+                        }
+                        //Brewing Inventory contains a valid item for that recipe
+                        brewingRecipeList.put(recipe, reference);
+                    }));
+        }
+        Optional<BrewingProcess> active = getProcess(location);
+        //Check if the current state of recipes is empty
+        if (brewingRecipeList.isEmpty()) {
+            //Cancel the current brewing operation of the location
+            active.ifPresent(process -> removeProcess(location));
+        } else if (active.isEmpty()) {
+            //Using the first recipe to set the brew time, fuel Level cost and ingredient.
+            //Because there can be multiple recipes for one ingredient
+            Map.Entry<CustomRecipeBrewing, StackReference> firstEntry = brewingRecipeList.entrySet().iterator().next();
+            brewingStandEntity.setInteger("BrewTime", BREW_TIME);
+            brewingStandEntity.setInteger("Fuel", fuelLevel - 1);
+            if (brewingStand.getFuelLevel() > 0) {
+                var process = new BrewingProcess(location, brewingStand, player, firstEntry.getValue(), brewingRecipeList);
+                activeChunks.computeIfAbsent(ChunkPos.of(location), pos -> new HashMap<>()).put(location, process);
+            }
+        } else {
+            //Put new brewing recipes to the process, but keep it running
+            active.get().recipes = brewingRecipeList;
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        ChunkPos pos = new ChunkPos(event.getWorld().getUID(), event.getChunk().getX(), event.getChunk().getZ());
+        activeChunks.remove(pos);
+        pendingChecks.keySet().removeIf(location -> pos.equals(ChunkPos.of(location)));
+    }
+
+    private record PendingCheck(BrewerInventory inventory, Player player, long dueTick) {
+    }
+
+    private record ChunkPos(UUID world, int x, int z) {
+
+        static ChunkPos of(Location location) {
+            World world = location.getWorld();
+            return new ChunkPos(world != null ? world.getUID() : null, location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        }
+    }
+
+    private static final class BrewingProcess {
+
+        private final Location location;
+        private final BrewingStand brewingStand;
+        private final NBTTileEntity brewingStandEntity;
+        private final Player player;
+        private final StackReference ingredient;
+        private Map<CustomRecipeBrewing, StackReference> recipes;
+        private int brewTime = BREW_TIME;
+
+        private BrewingProcess(Location location, BrewingStand brewingStand, Player player, StackReference ingredient, Map<CustomRecipeBrewing, StackReference> recipes) {
+            this.location = location;
+            this.brewingStand = brewingStand;
+            this.brewingStandEntity = new NBTTileEntity(brewingStand);
+            this.player = player;
+            this.ingredient = ingredient;
+            this.recipes = recipes;
+        }
+
+        /**
+         * @return true if the process is still running; false if it is done or the brewing stand no longer exists.
+         */
+        private boolean tick() {
+            if (brewTime > 0) {
+                if (!location.getBlock().getType().equals(Material.BREWING_STAND)) {
+                    return false;
+                }
+                brewTime--;
+                if (!brewingStand.getInventory().getViewers().isEmpty()) {
+                    brewingStandEntity.setInteger("BrewTime", brewTime);
+                }
+                return true;
+            }
+            brew();
+            return false;
+        }
+
+        private void brew() {
+            List<Integer> processedSlots = new LinkedList<>();
+            for (CustomRecipeBrewing recipe : recipes.keySet()) {
+                if (processedSlots.size() >= 3) break;
+                var brewerInventory = brewingStand.getInventory();
+                brewerInventory.setItem(3, ingredient.shrink(brewerInventory.getItem(3), 1, true, player.getInventory(), player, brewingStand.getLocation()));
+                for (int i = 0; i < 3; i++) {
+                    if (processedSlots.contains(i)) {
+                        continue; //Make sure the slot isn't processed twice by multiple recipes
+                    }
+                    ItemStack inputItem = brewerInventory.getItem(i);
+                    if (!ItemUtils.isAirOrNull(inputItem)) { //is slot not empty?
+                        //Check if item is contained in recipe before trying to process it
+                        if (recipe.getAllowedItems().isEmpty() || recipe.getAllowedItems().test(inputItem, recipe.isCheckNBT())) {
+                            //Input in that slot is valid, so marking slot as processed
+                            processedSlots.add(i);
+                            //Process the item in the slot
+                            var potionMeta = (PotionMeta) inputItem.getItemMeta();
+                            if (potionMeta != null) {
+                                if (!recipe.getResult().isEmpty()) {
+                                    //Result available. Replace the items with a random result from the list. (Percentages of items are used)
+                                    Optional<StackReference> item = recipe.getResult().item(player);
+                                    if (item.isPresent()) {
+                                        brewerInventory.setItem(i, item.get().referencedStack());
+                                    }
+                                } else {
+                                    //No result available
+                                    if (recipe.isResetEffects()) {
+                                        potionMeta.clearCustomEffects();
+                                    } else {
+                                        //remove the effects that are configured
+                                        recipe.getEffectRemovals().forEach(potionMeta::removeCustomEffect);
+                                        //Go through all the effects that are left
+                                        for (PotionEffect effect : potionMeta.getCustomEffects()) {
+                                            //Add the global effect changes
+                                            int duration = effect.getDuration() + recipe.getDurationChange();
+                                            int amplifier = effect.getAmplifier() + recipe.getAmplifierChange();
+                                            if (recipe.getEffectUpgrades().containsKey(effect.getType())) {
+                                                //Add the effect specific upgrades
+                                                Pair<Integer, Integer> values = recipe.getEffectUpgrades().get(effect.getType());
+                                                amplifier = amplifier + values.getKey();
+                                                duration = duration + values.getValue();
+                                            }
+                                            potionMeta.addCustomEffect(new PotionEffect(effect.getType(), duration, amplifier, effect.isAmbient(), effect.hasParticles(), effect.hasIcon()), true);
+                                        }
+                                        recipe.getEffectAdditions().forEach(potionMeta::addCustomEffect);
+                                    }
+                                    if (recipe.getEffectColor() != null) {
+                                        potionMeta.setColor(recipe.getEffectColor());
+                                    }
+                                    inputItem.setItemMeta(potionMeta);
+                                    brewerInventory.setItem(i, inputItem);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+}
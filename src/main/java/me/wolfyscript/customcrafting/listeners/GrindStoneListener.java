@@ -23,7 +23,6 @@
 package me.wolfyscript.customcrafting.listeners;
 
 import java.util.HashMap;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -173,20 +172,17 @@ public class GrindStoneListener implements Listener {
     private Optional<GrindstoneData> lookForValidRecipe(ItemStack topStack, ItemStack bottomStack, Player player, InventoryView invView) {
         preCraftedRecipes.remove(player.getUniqueId());
         Conditions.Data data = Conditions.Data.of(player, invView);
-        return customCrafting.getRegistries().getRecipes().get(RecipeType.GRINDSTONE).stream()
-                .sorted()
-                .filter(recipe -> !recipe.isDisabled() && recipe.checkConditions(data))
-                .map(recipe -> {
-                    Pair<Boolean, StackReference> checkTop = checkIngredientSlot(recipe, recipe.getInputTop(), topStack);
-                    if (!checkTop.getKey()) return null;
-                    Pair<Boolean, StackReference> checkBottom = checkIngredientSlot(recipe, recipe.getInputBottom(), bottomStack);
-                    if (!checkBottom.getKey()) return null;
-                    return new GrindstoneData(recipe, true,
-                            new IngredientData(0, 0, recipe.getInputTop(), checkTop.getValue(), topStack),
-                            new IngredientData(1, 1, recipe.getInputBottom(), checkBottom.getValue(), bottomStack));
-                })
-                .filter(Objects::nonNull)
-                .findFirst();
+        for (CustomRecipeGrindstone recipe : customCrafting.getRegistries().getRecipes().getSorted(RecipeType.GRINDSTONE)) {
+            if (recipe.isDisabled() || !recipe.checkConditions(data)) continue;
+            Pair<Boolean, StackReference> checkTop = checkIngredientSlot(recipe, recipe.getInputTop(), topStack);
+            if (!checkTop.getKey()) continue;
+            Pair<Boolean, StackReference> checkBottom = checkIngredientSlot(recipe, recipe.getInputBottom(), bottomStack);
+            if (!checkBottom.getKey()) continue;
+            return Optional.of(new GrindstoneData(recipe, true,
+                    new IngredientData(0, 0, recipe.getInputTop(), checkTop.getValue(), topStack),
+                    new IngredientData(1, 1, recipe.getInputBottom(), checkBottom.getValue(), bottomStack)));
+        }
+        return Optional.empty();
     }
 
     private Pair<Boolean, StackReference> checkIngredientSlot(CustomRecipeGrindstone recipe, Ingredient ingredient, ItemStack stack) {
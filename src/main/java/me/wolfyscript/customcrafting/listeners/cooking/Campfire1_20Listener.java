@@ -23,8 +23,6 @@
 package me.wolfyscript.customcrafting.listeners.cooking;
 
 import me.wolfyscript.customcrafting.CustomCrafting;
-import me.wolfyscript.customcrafting.recipes.RecipeType;
-import me.wolfyscript.customcrafting.recipes.conditions.Conditions;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.CampfireStartEvent;
@@ -44,12 +42,9 @@ public class Campfire1_20Listener implements Listener {
     @EventHandler
     public void onStartCampfireSmelt(CampfireStartEvent event) {
         ItemStack source = event.getSource();
-        customCrafting.getRegistries().getRecipes().get(RecipeType.CAMPFIRE).stream()
-                .filter(recipe -> recipe.checkConditions(Conditions.Data.of(event.getBlock())))
-                .filter(recipe -> recipe.getSource().checkChoices(source, recipe.isCheckNBT()).isPresent())
-                .findFirst()
+        customCrafting.getCookingManager().matchCampfireRecipe(source, event.getBlock())
                 .ifPresentOrElse(
-                        campfireRecipe -> event.setTotalCookTime(campfireRecipe.getCookingTime()),
+                        match -> event.setTotalCookTime(match.recipe().getCookingTime()),
                         () -> {
                             // Check if the CustomItem is allowed in Vanilla recipes
                             customCrafting.getApi().getCore().getRegistries().getCustomItems().getByItemStack(source)
@@ -26,12 +26,7 @@ import com.wolfyscript.utilities.bukkit.world.items.reference.StackIdentifier;
 import com.wolfyscript.utilities.bukkit.world.items.reference.StackReference;
 import com.wolfyscript.utilities.bukkit.world.items.reference.WolfyUtilsStackIdentifier;
 import me.wolfyscript.customcrafting.CustomCrafting;
-import me.wolfyscript.customcrafting.recipes.RecipeType;
-import me.wolfyscript.customcrafting.recipes.conditions.Conditions;
-import me.wolfyscript.customcrafting.recipes.data.CampfireRecipeData;
-import me.wolfyscript.customcrafting.recipes.data.IngredientData;
 import me.wolfyscript.utilities.api.WolfyUtilCore;
-import me.wolfyscript.utilities.util.Pair;
 import me.wolfyscript.utilities.util.inventory.ItemUtils;
 import org.bukkit.Material;
 import org.bukkit.block.Campfire;
@@ -69,15 +64,10 @@ public class CampfireListener implements Listener {
             return;
 
         Campfire campfire = (Campfire) event.getClickedBlock().getState();
-        Conditions.Data condtionsData = Conditions.Data.of(campfire.getBlock());
-        getFirstEmptySlot(campfire).ifPresent(slot -> customCrafting.getRegistries().getRecipes().get(RecipeType.CAMPFIRE).stream()
-                .filter(recipe -> recipe.checkConditions(condtionsData))
-                .map(recipe1 -> new Pair<>(recipe1, recipe1.getSource().checkChoices(event.getItem(), recipe1.isCheckNBT())))
-                .filter(pair -> pair.getValue().isPresent())
-                .findFirst()
+        getFirstEmptySlot(campfire).ifPresent(slot -> customCrafting.getCookingManager().matchCampfireRecipe(event.getItem(), campfire.getBlock())
                 .ifPresentOrElse(
-                        pair -> {
-                            StackReference matchingSource = pair.getValue().get(); // Ignore warning. This was checked using the stream filter
+                        match -> {
+                            StackReference matchingSource = match.source();
 
                             // Calculate the items that should be placed onto the campfire
                             ItemStack stackToPlace = event.getItem().clone();
@@ -87,7 +77,7 @@ public class CampfireListener implements Listener {
                             matchingSource.shrink(event.getItem(), 1, false, null, event.getPlayer(), event.getClickedBlock().getLocation());
 
                             campfire.setItem(slot, stackToPlace); // Set the item that should be cooked or dropped when campfire is broken
-                            campfire.setCookTimeTotal(slot, pair.getKey().getCookingTime());
+                            campfire.setCookTimeTotal(slot, match.recipe().getCookingTime());
                             campfire.setCookTime(slot, 0); // We need to reset the previous cook time, otherwise it is done instantly!
 
                             event.setCancelled(true);
@@ -117,16 +107,9 @@ public class CampfireListener implements Listener {
     public void onCampfireFinished(BlockCookEvent event) {
         if (!event.getBlock().getType().equals(Material.CAMPFIRE)) return;
 
-        customCrafting.getRegistries().getRecipes().get(RecipeType.CAMPFIRE).stream()
-                .filter(customRecipe -> customRecipe.checkConditions(Conditions.Data.of(event.getBlock())))
-                .map(customRecipe -> customRecipe.getSource().checkChoices(event.getSource(), customRecipe.isCheckNBT()).map(customItem -> {
-                    IngredientData ingredientData = new IngredientData(0, 0, customRecipe.getSource(), customItem, event.getSource());
-                    return new CampfireRecipeData(customRecipe, ingredientData);
-                }))
-                .filter(Optional::isPresent)
-                .findFirst()
+        customCrafting.getCookingManager().matchCampfireRecipe(event.getSource(), event.getBlock())
                 .ifPresentOrElse(
-                        recipeData -> recipeData.get().getRecipe().getResult().item(event.getBlock()).ifPresent(reference -> event.setResult(reference.referencedStack())),
+                        match -> match.recipe().getResult().item(event.getBlock()).ifPresent(reference -> event.setResult(reference.referencedStack())),
                         () -> {
                             // Check if the CustomItem is allowed in Vanilla recipes
                             StackIdentifier identifier = WolfyUtilCore.getInstance().getRegistries().getStackIdentifierParsers().parseIdentifier(event.getSource());
@@ -26,13 +26,19 @@ import java.util.*;
 
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
+import com.wolfyscript.utilities.bukkit.world.items.reference.StackReference;
 import me.wolfyscript.customcrafting.CustomCrafting;
+import me.wolfyscript.customcrafting.recipes.CustomRecipeCampfire;
+import me.wolfyscript.customcrafting.recipes.RecipeType;
+import me.wolfyscript.customcrafting.recipes.conditions.Conditions;
 import me.wolfyscript.customcrafting.recipes.data.CookingRecipeData;
 import org.bukkit.NamespacedKey;
 import org.bukkit.block.Block;
 import org.bukkit.event.inventory.FurnaceSmeltEvent;
+import org.bukkit.inventory.ItemStack;
 
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 public class CookingManager {
 
@@ -44,21 +50,103 @@ public class CookingManager {
      * This way if we come across a vanilla/bukkit recipe, we check the associated CustomRecipes first. When none matche then we iterate over all registered CustomRecipes.
      */
     private final Multimap<NamespacedKey, me.wolfyscript.utilities.util.NamespacedKey> VANILLA_RECIPE_TO_CUSTOM_RECIPE_CACHE = Multimaps.newSetMultimap(new HashMap<>(), HashSet::new);
+    // The modification count of the recipe registry the associations were cached for.
+    private long associationsVersion = -1;
 
     private final Map<BlockPositionData, CookingRecipeCache> cachedRecipeData = new ConcurrentHashMap<>();
+    private final FuelIndex fuelIndex;
+    private final LongAdder campfireLookups = new LongAdder();
+    private final LongAdder campfireLookupsWithoutCandidates = new LongAdder();
+    private final LongAdder campfireMatches = new LongAdder();
 
     public CookingManager(CustomCrafting plugin) {
         this.plugin = plugin;
+        this.fuelIndex = new FuelIndex(plugin.getApi().getRegistries().getCustomItems());
+    }
+
+    /**
+     * Gets the index of the custom fuel items, that is shared by the furnace listeners.
+     *
+     * @return The index of the custom fuel items.
+     */
+    public FuelIndex getFuelIndex() {
+        return fuelIndex;
+    }
+
+    /**
+     * Finds the campfire recipe, that cooks the specified source item.<br>
+     * Only the recipes with a source of the same material are checked, in the order of their priority.
+     * The conditions are only checked for recipes whose source matches the item.
+     *
+     * @param source The item that is placed onto or cooked by the campfire.
+     * @param block  The campfire block.
+     * @return The matching recipe and the reference of the matched source; or empty if no recipe matches.
+     */
+    Optional<CampfireMatch> matchCampfireRecipe(ItemStack source, Block block) {
+        campfireLookups.increment();
+        List<CustomRecipeCampfire> candidates = plugin.getRegistries().getRecipes().getByIngredient(RecipeType.CAMPFIRE, source);
+        if (candidates.isEmpty()) {
+            campfireLookupsWithoutCandidates.increment();
+            return Optional.empty();
+        }
+        Conditions.Data conditionsData = null;
+        for (CustomRecipeCampfire recipe : candidates) {
+            Optional<StackReference> matchingSource = recipe.getSource().checkChoices(source, recipe.isCheckNBT());
+            if (matchingSource.isEmpty()) continue;
+            if (conditionsData == null) {
+                conditionsData = Conditions.Data.of(block);
+            }
+            if (recipe.checkConditions(conditionsData)) {
+                campfireMatches.increment();
+                return Optional.of(new CampfireMatch(recipe, matchingSource.get()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return The amount of campfire recipe lookups.
+     */
+    public long getCampfireLookups() {
+        return campfireLookups.sum();
+    }
+
+    /**
+     * @return The amount of campfire recipe lookups, that were resolved without checking any recipe, because no recipe has a source of that material.
+     */
+    public long getCampfireLookupsWithoutCandidates() {
+        return campfireLookupsWithoutCandidates.sum();
+    }
+
+    /**
+     * @return The amount of campfire recipe lookups, that found a matching recipe.
+     */
+    public long getCampfireMatches() {
+        return campfireMatches.sum();
     }
 
     void cacheCustomBukkitRecipeAssociation(NamespacedKey bukkitRecipe, me.wolfyscript.utilities.util.NamespacedKey customRecipe) {
+        evictStaleAssociations();
         VANILLA_RECIPE_TO_CUSTOM_RECIPE_CACHE.put(bukkitRecipe, customRecipe);
     }
 
     Collection<me.wolfyscript.utilities.util.NamespacedKey> getAssociatedCustomRecipes(NamespacedKey bukkitRecipe) {
+        evictStaleAssociations();
         return VANILLA_RECIPE_TO_CUSTOM_RECIPE_CACHE.get(bukkitRecipe);
     }
 
+    /**
+     * Clears the associations, when recipes were registered or removed (e.g. on reload) since they were cached.<br>
+     * Otherwise, removed recipes would stay associated, and recipes that were changed would be checked first, even if they no longer belong to the bukkit recipe.
+     */
+    private void evictStaleAssociations() {
+        long version = plugin.getRegistries().getRecipes().getModificationCount();
+        if (associationsVersion != version) {
+            VANILLA_RECIPE_TO_CUSTOM_RECIPE_CACHE.clear();
+            associationsVersion = version;
+        }
+    }
+
     void cacheRecipeData(Block block, CookingRecipeCache recipeCache) {
         cachedRecipeData.put(new BlockPositionData(block), recipeCache);
     }
@@ -95,6 +183,15 @@ public class CookingManager {
         return Optional.ofNullable(cachedRecipeData.get(new BlockPositionData(block)));
     }
 
+    /**
+     * The result of {@link #matchCampfireRecipe(ItemStack, Block)}.
+     *
+     * @param recipe The matching recipe.
+     * @param source The reference of the source, that matched the item.
+     */
+    record CampfireMatch(CustomRecipeCampfire recipe, StackReference source) {
+    }
+
     private record BlockPositionData(int x, int y, int z, UUID world) {
 
         BlockPositionData(Block block) {
@@ -0,0 +1,139 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.listeners.cooking;
+
+import me.wolfyscript.utilities.api.inventory.custom_items.CustomItem;
+import me.wolfyscript.utilities.registry.RegistryCustomItem;
+import me.wolfyscript.utilities.util.NamespacedKey;
+import me.wolfyscript.utilities.util.inventory.ItemUtils;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Indexes the {@link CustomItem}s that can be used as fuel by the material of their item.<br>
+ * Items of a custom item are looked up by its key, and other items only need to be compared to the few fuels of the same material, instead of all the registered items.<br>
+ * <br>
+ * The index is rebuilt the next time it is needed after it was invalidated, or the amount of registered items changed.
+ * It needs to be invalidated when items are registered, removed, or their fuel settings changed.
+ */
+public class FuelIndex {
+
+    private final RegistryCustomItem registry;
+    private volatile Index index = new Index(-1, Map.of(), Map.of());
+    private volatile boolean invalid = true;
+
+    public FuelIndex(RegistryCustomItem registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Marks the index as outdated, so it is rebuilt the next time it is needed.
+     */
+    public void invalidate() {
+        invalid = true;
+    }
+
+    /**
+     * Gets the fuel of the specified item.<br>
+     * Items of a {@link CustomItem} are resolved by the key of the custom item, so custom items that are similar to each other can't be mistaken for one another.
+     * Only items without such key are compared to the fuels of the same material.
+     *
+     * @param itemStack The item to get the fuel for.
+     * @return The fuel of the item; or empty if the item is not a custom fuel.
+     */
+    Optional<Fuel> getFuel(ItemStack itemStack) {
+        if (ItemUtils.isAirOrNull(itemStack)) return Optional.empty();
+        Index current = index();
+        CustomItem customItem = CustomItem.getByItemStack(itemStack);
+        if (customItem != null) {
+            return Optional.ofNullable(current.byKey().get(customItem.getNamespacedKey()));
+        }
+        List<Fuel> fuels = current.fuels().get(itemStack.getType());
+        if (fuels == null) return Optional.empty();
+        for (Fuel fuel : fuels) {
+            if (fuel.item().isSimilar(itemStack)) {
+                return Optional.of(fuel);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Index index() {
+        Index current = index;
+        int size = registry.values().size();
+        if (invalid || current.itemCount() != size) {
+            synchronized (this) {
+                current = index;
+                if (invalid || current.itemCount() != size) {
+                    invalid = false;
+                    current = build();
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Index build() {
+        List<CustomItem> items = List.copyOf(registry.values());
+        Map<Material, List<Fuel>> fuels = new EnumMap<>(Material.class);
+        Map<NamespacedKey, Fuel> byKey = new HashMap<>();
+        for (CustomItem customItem : items) {
+            var fuelSettings = customItem.getFuelSettings();
+            if (fuelSettings.getBurnTime() <= 0) continue;
+            ItemStack itemStack = customItem.getItemStack();
+            if (ItemUtils.isAirOrNull(itemStack)) continue;
+            var fuel = new Fuel(customItem, fuelSettings.getBurnTime(), Set.copyOf(fuelSettings.getAllowedBlocks()));
+            fuels.computeIfAbsent(itemStack.getType(), material -> new ArrayList<>()).add(fuel);
+            if (customItem.getNamespacedKey() != null) {
+                byKey.put(customItem.getNamespacedKey(), fuel);
+            }
+        }
+        fuels.replaceAll((material, materialFuels) -> List.copyOf(materialFuels));
+        return new Index(items.size(), fuels, byKey);
+    }
+
+    /**
+     * The fuel settings of a {@link CustomItem} at the time the index was built.
+     *
+     * @param item          The item of the fuel.
+     * @param burnTime      The ticks the fuel burns.
+     * @param allowedBlocks The furnace blocks the fuel can be used in.
+     */
+    record Fuel(CustomItem item, int burnTime, Set<Material> allowedBlocks) {
+
+        boolean isAllowed(Material block) {
+            return allowedBlocks.contains(block);
+        }
+    }
+
+    private record Index(int itemCount, Map<Material, List<Fuel>> fuels, Map<NamespacedKey, Fuel> byKey) {
+    }
+}
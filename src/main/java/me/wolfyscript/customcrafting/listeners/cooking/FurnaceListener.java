@@ -30,7 +30,6 @@ import me.wolfyscript.customcrafting.recipes.data.*;
 import me.wolfyscript.customcrafting.utils.NamespacedKeyUtils;
 import me.wolfyscript.utilities.api.WolfyUtilities;
 import me.wolfyscript.utilities.api.inventory.custom_items.CustomItem;
-import me.wolfyscript.utilities.registry.RegistryCustomItem;
 import me.wolfyscript.utilities.util.inventory.InventoryUtils;
 import me.wolfyscript.utilities.util.inventory.ItemUtils;
 import org.bukkit.Bukkit;
@@ -62,13 +61,11 @@ public class FurnaceListener implements Listener {
     protected final CustomCrafting customCrafting;
     protected final WolfyUtilities api;
     protected final CookingManager manager;
-    protected final RegistryCustomItem registryCustomItem;
 
     public FurnaceListener(CustomCrafting customCrafting, CookingManager manager) {
         this.manager = manager;
         this.customCrafting = customCrafting;
         this.api = customCrafting.getApi();
-        this.registryCustomItem = api.getRegistries().getCustomItems();
     }
 
     @EventHandler
@@ -77,27 +74,24 @@ public class FurnaceListener implements Listener {
         var slotType = event.getSlotType();
         if (slotType.equals(InventoryType.SlotType.FUEL)) {
             if (event.getCursor() == null) return;
-            Optional<CustomItem> fuelItem = registryCustomItem.values().stream().filter(customItem -> customItem.getFuelSettings().getBurnTime() > 0 && customItem.isSimilar(event.getCursor())).findFirst();
-            if (fuelItem.isPresent()) {
+            manager.getFuelIndex().getFuel(event.getCursor()).ifPresent(fuel -> {
                 var location = event.getInventory().getLocation();
-                if (fuelItem.get().getFuelSettings().getAllowedBlocks().contains(location != null ? location.getBlock().getType() : Material.FURNACE)) {
+                if (fuel.isAllowed(location != null ? location.getBlock().getType() : Material.FURNACE)) {
                     InventoryUtils.calculateClickedSlot(event);
                 } else {
                     event.setCancelled(true);
                 }
-            }
+            });
         }
     }
 
     @EventHandler
     public void onBurn(FurnaceBurnEvent event) {
-        ItemStack input = event.getFuel();
-        registryCustomItem.getByItemStack(input).ifPresent(customItem -> {
-            var fuelSettings = customItem.getFuelSettings();
-            if (fuelSettings.getBurnTime() > 0 && customItem.isSimilar(input) && fuelSettings.getAllowedBlocks().contains(event.getBlock().getType())) {
+        manager.getFuelIndex().getFuel(event.getFuel()).ifPresent(fuel -> {
+            if (fuel.isAllowed(event.getBlock().getType())) {
                 event.setCancelled(false);
                 event.setBurning(true);
-                event.setBurnTime(fuelSettings.getBurnTime());
+                event.setBurnTime(fuel.burnTime());
             }
         });
     }
@@ -129,28 +123,27 @@ public class FurnaceListener implements Listener {
         }
 
         // No cached recipe or no valid custom recipe
-        customCrafting.getRegistries().getRecipes().get((RecipeType<? extends CustomRecipeCooking<?, ?>>) switch (event.getBlock().getType()) {
-                    case BLAST_FURNACE -> RecipeType.BLAST_FURNACE;
-                    case SMOKER -> RecipeType.SMOKER;
-                    default -> RecipeType.FURNACE;
-                }).stream()
-                .sorted()
-                .filter(recipe -> !recipe.isDisabled() && !cachedRecipes.contains(recipe.getNamespacedKey())) // Do not include disabled or already checked recipes
-                .map(recipe1 -> processRecipe(recipe1, source, block))
-                .filter(Optional::isPresent)
-                .findFirst()
-                .ifPresentOrElse(dataOptional -> {
-                    CookingRecipeData<?> data = dataOptional.get();
-                    CustomRecipeCooking<?,?> recipeCooking = data.getRecipe();
-                    event.setTotalCookTime(recipeCooking.getCookingTime()); // Apply the correct custom cook time
-                    // Let's remember this recipe and check it first next time the same bukkit recipe is present
-                    manager.cacheCustomBukkitRecipeAssociation(bukkitRecipe.getKey(), recipeCooking.getNamespacedKey());
-                    // Finally cache recipe data and notify the SmeltEvent
-                    manager.cacheRecipeData(block, new CookingRecipeCache(data, bukkitRecipe.getKey(), customBackingRecipe));
-                }, () -> {
-                    // No custom recipe was found, but may still want to cancel the smelting when the original recipe is a custom recipe
-                    manager.cacheRecipeData(block, new CookingRecipeCache(null, bukkitRecipe.getKey(), customBackingRecipe));
-                });
+        // Only the recipes with a source of the same type need to be checked
+        RecipeType<? extends CustomRecipeCooking<?, ?>> recipeType = switch (event.getBlock().getType()) {
+            case BLAST_FURNACE -> RecipeType.BLAST_FURNACE;
+            case SMOKER -> RecipeType.SMOKER;
+            default -> RecipeType.FURNACE;
+        };
+        for (CustomRecipeCooking<?, ?> recipe : customCrafting.getRegistries().getRecipes().getByIngredient(recipeType, source)) {
+            if (recipe.isDisabled() || cachedRecipes.contains(recipe.getNamespacedKey())) continue; // Do not include disabled or already checked recipes
+            var dataOptional = processRecipe(recipe, source, block);
+            if (dataOptional.isEmpty()) continue;
+            CookingRecipeData<?> data = dataOptional.get();
+            CustomRecipeCooking<?,?> recipeCooking = data.getRecipe();
+            event.setTotalCookTime(recipeCooking.getCookingTime()); // Apply the correct custom cook time
+            // Let's remember this recipe and check it first next time the same bukkit recipe is present
+            manager.cacheCustomBukkitRecipeAssociation(bukkitRecipe.getKey(), recipeCooking.getNamespacedKey());
+            // Finally cache recipe data and notify the SmeltEvent
+            manager.cacheRecipeData(block, new CookingRecipeCache(data, bukkitRecipe.getKey(), customBackingRecipe));
+            return;
+        }
+        // No custom recipe was found, but may still want to cancel the smelting when the original recipe is a custom recipe
+        manager.cacheRecipeData(block, new CookingRecipeCache(null, bukkitRecipe.getKey(), customBackingRecipe));
     }
 
     private Optional<CookingRecipeData<?>> processRecipe(CustomRecipeCooking<?,?> cookingRecipe, ItemStack source, Block block) {
@@ -54,7 +54,6 @@ import org.bukkit.inventory.SmithingRecipe;
 
 import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -87,24 +86,23 @@ public class SmithingListener implements Listener {
         var addition = inv.getItem(CustomRecipeSmithing.ADDITION_SLOT);
         preCraftedRecipes.put(player.getUniqueId(), null);
 
-        customCrafting.getRegistries().getRecipes().get(RecipeType.SMITHING).stream()
-                .sorted()
-                .filter(recipe -> !recipe.isDisabled())
-                .map(recipe -> recipe.check(player, event.getView(), template, base, addition))
-                .filter(Objects::nonNull)
-                .findFirst()
-                .ifPresentOrElse(data -> {
-                    preCraftedRecipes.put(player.getUniqueId(), data);
-                    CustomRecipeSmithing recipe = data.getRecipe();
-
-                    applyResult(event, inv, player, base, recipe.getResult(), recipe.isOnlyChangeMaterial(), recipe.getInternalMergeAdapters(), data);
-                }, () -> {
-                    if (ItemUtils.isAirOrNull(event.getResult())) return;
-                    SmithingRecipe recipe = (SmithingRecipe) inv.getRecipe();
-                    if (recipe == null || ICustomVanillaRecipe.isPlaceholderOrDisplayRecipe(recipe.getKey())) {
-                        event.setResult(null);
-                    }
-                });
+        SmithingData data = null;
+        for (CustomRecipeSmithing recipe : customCrafting.getRegistries().getRecipes().getSorted(RecipeType.SMITHING)) {
+            if (recipe.isDisabled()) continue;
+            data = recipe.check(player, event.getView(), template, base, addition);
+            if (data != null) break;
+        }
+        if (data != null) {
+            preCraftedRecipes.put(player.getUniqueId(), data);
+            CustomRecipeSmithing recipe = data.getRecipe();
+
+            applyResult(event, inv, player, base, recipe.getResult(), recipe.isOnlyChangeMaterial(), recipe.getInternalMergeAdapters(), data);
+        } else if (!ItemUtils.isAirOrNull(event.getResult())) {
+            SmithingRecipe recipe = (SmithingRecipe) inv.getRecipe();
+            if (recipe == null || ICustomVanillaRecipe.isPlaceholderOrDisplayRecipe(recipe.getKey())) {
+                event.setResult(null);
+            }
+        }
     }
 
     private static void applyResult(PrepareSmithingEvent event, SmithingInventory inv, Player player, ItemStack base, Result result, boolean onlyChangeMaterial, List<MergeAdapter> adapters, RecipeData<?> data) {
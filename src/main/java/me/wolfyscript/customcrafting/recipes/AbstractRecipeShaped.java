@@ -68,6 +68,8 @@ public abstract class AbstractRecipeShaped<C extends AbstractRecipeShaped<C, S>,
     private static final String HORIZONTAL_KEY = "horizontal";
     private static final String VERTICAL_KEY = "vertical";
     private static final String ROTATION_KEY = "rotation";
+    // Scratch array for the choices matched by checkShape, reused for each check on the same thread.
+    private static final ThreadLocal<StackReference[]> MATCHED_CHOICES = ThreadLocal.withInitial(() -> new StackReference[36]);
 
     protected static <RT extends AbstractRecipeShaped<?, ?>> ObjectVerifier<RT> validator() {
         return VerifierBuilder.<RT>object(new NamespacedKey(NamespacedKeyUtils.NAMESPACE, "abstract_shaped_crafting"))
@@ -283,28 +285,43 @@ public abstract class AbstractRecipeShaped<C extends AbstractRecipeShaped<C, S>,
     }
 
     protected CraftingData checkShape(@NotNull CraftManager.MatrixData matrixData, int[] shape) {
-        final var dataArray = new IngredientData[getMaxGridDimension() * getInternalShape().getHeight()]; // Cut memory by not allocating the rows at the end, that don't contain any ingredients.
-        final var matrixOffset = matrixData.getOffsetX() + (matrixData.getOffsetY() * matrixData.getGridSize());
-        var i = 0;
-        for (ItemStack invItem : keepShapeAsIs ? matrixData.getOriginalMatrix() : matrixData.getMatrix()) {
-            int recipeSlot = shape[i];
-            if (invItem != null) {
-                if (recipeSlot < 0) return null;
-                Ingredient ingredient = ingredients.get(recipeSlot);
-                if (ingredient == null) return null;
-                Optional<StackReference> item = ingredient.checkChoices(invItem, this.checkAllNBT);
-                if (item.isEmpty()) return null;
+        final ItemStack[] matrix = keepShapeAsIs ? matrixData.getOriginalMatrix() : matrixData.getMatrix();
+        StackReference[] matchedChoices = MATCHED_CHOICES.get();
+        if (matchedChoices.length < matrix.length) {
+            matchedChoices = new StackReference[matrix.length];
+            MATCHED_CHOICES.set(matchedChoices);
+        }
+        try {
+            // Check the whole shape first, so nothing is allocated for recipes that do not match.
+            for (int i = 0; i < matrix.length; i++) {
+                int recipeSlot = shape[i];
+                if (matrix[i] != null) {
+                    if (recipeSlot < 0) return null;
+                    Ingredient ingredient = ingredients.get(recipeSlot);
+                    if (ingredient == null) return null;
+                    Optional<StackReference> item = ingredient.checkChoices(matrix[i], this.checkAllNBT);
+                    if (item.isEmpty()) return null;
+                    matchedChoices[i] = item.get();
+                } else if (recipeSlot >= 0) {
+                    return null;
+                }
+            }
+            final var dataArray = new IngredientData[getMaxGridDimension() * getInternalShape().getHeight()]; // Cut memory by not allocating the rows at the end, that don't contain any ingredients.
+            final var matrixOffset = matrixData.getOffsetX() + (matrixData.getOffsetY() * matrixData.getGridSize());
+            for (int i = 0; i < matrix.length; i++) {
+                if (matrix[i] == null) continue;
+                int recipeSlot = shape[i];
                 //In order to index the ingredients for the correct inventory slot we need to reverse the shape offset.
                 dataArray[recipeSlot] = new IngredientData(
                         i + (keepShapeAsIs ? 0 : (matrixOffset + ((i / getInternalShape().getWidth()) * (matrixData.getGridSize() - matrixData.getWidth())))),
-                        recipeSlot, ingredient, item.get(), new ItemStack(invItem)
+                        recipeSlot, ingredients.get(recipeSlot), matchedChoices[i], new ItemStack(matrix[i])
                 );
-            } else if (recipeSlot >= 0) {
-                return null;
             }
-            i++;
+            return new CraftingData(this, dataArray);
+        } finally {
+            // Do not keep the choices of this recipe alive on the thread, whether it matched or not.
+            Arrays.fill(matchedChoices, 0, matrix.length, null);
         }
-        return new CraftingData(this, dataArray);
     }
 
     @Override
@@ -27,8 +27,6 @@ import com.google.common.collect.Streams;
 import com.wolfyscript.utilities.bukkit.world.items.reference.StackReference;
 import com.wolfyscript.utilities.verification.ObjectVerifier;
 import com.wolfyscript.utilities.verification.VerifierBuilder;
-import it.unimi.dsi.fastutil.ints.IntArrayList;
-import it.unimi.dsi.fastutil.ints.IntList;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -52,12 +50,14 @@ import me.wolfyscript.lib.com.fasterxml.jackson.databind.JsonNode;
 import me.wolfyscript.lib.com.fasterxml.jackson.databind.SerializerProvider;
 import me.wolfyscript.utilities.api.nms.network.MCByteBuf;
 import me.wolfyscript.utilities.util.NamespacedKey;
+import me.wolfyscript.utilities.util.inventory.ItemUtils;
 import org.bukkit.inventory.ItemStack;
 
 public abstract class AbstractRecipeShapeless<C extends AbstractRecipeShapeless<C, S>, S extends CraftingRecipeSettings<S>> extends CraftingRecipe<C, S> {
 
-    @JsonIgnore
-    private IntList indexes;
+    // The matcher keeps its arrays between checks, so one is kept for each thread that checks recipes.
+    private static final ThreadLocal<ShapelessMatcher> MATCHER = ThreadLocal.withInitial(ShapelessMatcher::new);
+
     @JsonIgnore
     private int combinations = 1;
     @JsonIgnore
@@ -128,21 +128,10 @@ public abstract class AbstractRecipeShapeless<C extends AbstractRecipeShapeless<
     public void setIngredients(Stream<Ingredient> ingredients) {
         List<Ingredient> ingredientsNew = ingredients.filter(Objects::nonNull).toList();
         Preconditions.checkArgument(!ingredientsNew.isEmpty(), "Invalid ingredients! Recipe requires ingredients!");
+        Preconditions.checkArgument(ingredientsNew.size() <= ShapelessMatcher.MAX_INGREDIENTS, "Invalid ingredients! Recipe cannot have more than %s ingredients!", ShapelessMatcher.MAX_INGREDIENTS);
         this.ingredients = ingredientsNew;
         this.nonEmptyIngredientSize = (int) this.ingredients.stream().filter(ingredient -> !ingredient.isAllowEmpty()).count();
         this.hasAllowedEmptyIngredient = this.nonEmptyIngredientSize != this.ingredients.size();
-        this.indexes = new IntArrayList(this.ingredients.size());
-        for (int i = 0; i < this.ingredients.size(); i++) {
-            indexes.add(i);
-        }
-        indexes.sort((index, index1) -> {
-            var ingredient = this.ingredients.get(index);
-            var ingredient1 = this.ingredients.get(index1);
-            if (ingredient.choices().size() > 1) {
-                return ingredient1.choices().size() > 1 ? 0 : 1;
-            }
-            return ingredient1.choices().size() > 1 ? -1 : 0;
-        });
         combinations = 1;
         for (Ingredient ingredient : this.ingredients) {
             combinations *= ingredient.size() + 1;
@@ -159,47 +148,17 @@ public abstract class AbstractRecipeShapeless<C extends AbstractRecipeShapeless<
      * Checks if the recipe matches the given matrix data.
      * </p>
      * <p>
-     *     The shapeless recipe algorithm tries to efficiently determine if the correct ingredients are used.<br>
-     *     <p>
-     *         <h3>Problem:</h3>
-     *         Shapeless recipes may have multiple ingredients with multiple variations.
-     *         So an item in the matrix may match multiple ingredients.
-     *         Due to the non-deterministic initial order of the ingredients in the matrix, the proper order of used ingredients need to be determined when matching it.
-     *     </p>
-     *     <p>
-     *         <h3>Solution:</h3>
-     *         The current algorithm acts as a tree that tries to eliminate the paths that cannot occur as far as possible.
-     *         It begins at the first slot in the matrix (root) and continuos until it matches the last slot.
-     *     </p>
-     *     <p>
-     *     For each slot it matches the item in that slot to the ingredients:
-     *     <ul>
-     *         <li>
-     *             In case there is a valid ingredient:
-     *             <ol>
-     *                 <li>The ingredient is marked as checked for the current slot.</li>
-     *                 <li>The ingredient is mapped to the current slot.</li>
-     *                 <li>The ingredient/slot pair is stored in the queue.</li>
-     *                 <li>continuos to the next slot.</li>
-     *             </ol>
-     *         </li>
-     *         <li>
-     *            Otherwise:
-     *            <ul>
-     *                <li>If this slot is the first slot in the matrix (root) it jumps out of the loop.</li>
-     *                <li>
-     *                    Else:
-     *                    <ul>
-     *                        <li>Goes back to the previous slot and rechecks it.</li>
-     *                    </ul>
-     *                </li>
-     *            </ul>
-     *         </li>
-     *     </ul>
-     *
-     *     </p>
+     *     <h3>Problem:</h3>
+     *     Shapeless recipes may have multiple ingredients with multiple variations.
+     *     So an item in the matrix may match multiple ingredients.
+     *     Due to the non-deterministic initial order of the ingredients in the matrix, the proper order of used ingredients need to be determined when matching it.
+     * </p>
+     * <p>
+     *     <h3>Solution:</h3>
+     *     Each item in the matrix is checked exactly once against each ingredient, which results in a bit-mask of the compatible ingredients per item.<br>
+     *     The items are then assigned to the ingredients by finding a bipartite matching (Hopcroft–Karp), so no combinations need to be retried.<br>
+     *     The resulting data contains the exact inventory slot of each matched item.
      * </p>
-     *
      *
      * @param matrixData The cache of the matrix.
      * @return The data of the matching recipe, or null if not valid.
@@ -207,53 +166,22 @@ public abstract class AbstractRecipeShapeless<C extends AbstractRecipeShapeless<
     @Override
     public CraftingData check(CraftManager.MatrixData matrixData) {
         if (isDisabled() || !fitsDimensions(matrixData)) return null;
-        final IngredientData[] dataArray = new IngredientData[ingredients.size()];
         final ItemStack[] matrix = matrixData.getItems();
-        final IntList selectedSlots = new IntArrayList(matrix.length);
-        final int[] checkedIndicesPerSlot = new int[matrix.length];
-
-        for (int i = 0; i < matrix.length; ) { //First we go through all the items in the grid.
-            final int checkedIndices = checkedIndicesPerSlot[i];
-            final int recipeSlot = checkIngredient(i, matrixData, selectedSlots, checkedIndices, dataArray, matrix[i]); //Get the slot of the ingredient or -1 if non is found.
-            if (recipeSlot == -1) {
-                // Invalid ingredient. Does not match current matrix stack.
-                if (i == 0 || countOfSetBits(checkedIndices) == indexes.size()) { //We can directly end the check if it fails for the first slot.
-                    return null;
-                }
-                if (selectedSlots.size() > i) {
-                    selectedSlots.rem(i); //Add the previous selected recipe slot back into the queue.
-                }
-                i--; //Go back to previous slot and recheck it.
-                continue;
-            } else if (selectedSlots.size() > i) {
-                selectedSlots.set(i, recipeSlot); //Add the previous selected recipe slot back into the queue, so we don't miss it.
-            } else {
-                selectedSlots.add(recipeSlot); //Add the newly found slot to the used slots.
+        final ShapelessMatcher matcher = MATCHER.get();
+        try {
+            if (!matcher.match(matrix, ingredients, isCheckNBT())) return null;
+            final IngredientData[] dataArray = new IngredientData[ingredients.size()];
+            final ItemStack[] originalMatrix = matrixData.getOriginalMatrix();
+            int slot = 0;
+            for (int i = 0; i < matrix.length; i++, slot++) {
+                while (ItemUtils.isAirOrNull(originalMatrix[slot])) slot++; // Find the inventory slot of the item.
+                int key = matcher.ingredientOf(i);
+                dataArray[key] = new IngredientData(slot, key, ingredients.get(key), matcher.choiceOf(i), new ItemStack(matrix[i]));
             }
-            checkedIndicesPerSlot[i] = setBit(checkedIndices, recipeSlot); // Ingredient matches current matrix stack, goto next slot
-            i++;
-        }
-        if ((selectedSlots.size() == ingredients.size())) {
             return new CraftingData(this, dataArray);
+        } finally {
+            matcher.reset();
         }
-        if (hasAllowedEmptyIngredient && matrixData.getStrippedSize() == selectedSlots.size()) { //The empty ingredients can be very tricky in shapeless recipes and shouldn't be used... but might as well implement it anyway.
-            if (indexes.intStream().filter(index -> !selectedSlots.contains(index)).allMatch(index -> ingredients.get(index).isAllowEmpty())) {
-                return new CraftingData(this, dataArray);
-            }
-        }
-        return null;
-    }
-
-    private static int setBit(int bitSet, int index) {
-        return bitSet | (1<<index);
-    }
-
-    private static boolean getBit(int bitSet, int index) {
-        return (bitSet & (1<<index)) != 0;
-    }
-
-    private static int countOfSetBits(int bitSet) {
-        return Integer.bitCount(bitSet);
     }
 
     /**
@@ -271,15 +199,15 @@ public abstract class AbstractRecipeShapeless<C extends AbstractRecipeShapeless<
      * @param dataArray The cache data for the final recipe data.
      * @param item The item at the given position in the matrix.
      * @return The ingredient index that matches this position.
+     * @deprecated The recipe no longer matches the slots one by one. Use {@link #check(CraftManager.MatrixData)}, which assigns all the items at once.
      */
+    @Deprecated
     protected int checkIngredient(int pos, CraftManager.MatrixData matrixData, List<Integer> selectedSlots, Integer checkedIndices, IngredientData[] dataArray, ItemStack item) {
-        for (int key : indexes) {
-            if (!selectedSlots.contains(key) && !getBit(checkedIndices, key)) {
+        for (int key = 0; key < ingredients.size(); key++) {
+            if (!selectedSlots.contains(key) && (checkedIndices & (1 << key)) == 0) {
                 final var ingredient = ingredients.get(key);
                 final var checkResult = ingredient.checkChoices(item, isCheckNBT());
                 if (checkResult.isPresent()) {
-                    //For shapeless we can't actually determine the exact inventory slot of the ingredient (without massively increasing complexity), but we can make an estimate using the same tactic as with shaped recipes.
-                    //Though, Items will still be slightly rearranged in the matrix.
                     dataArray[key] = new IngredientData(
                             pos + (matrixData.getOffsetX() + (matrixData.getOffsetY() * matrixData.getGridSize())) + ((pos / maxGridDimension) * (matrixData.getGridSize() - matrixData.getWidth())),
                             key, ingredient, checkResult.get(), new ItemStack(item)
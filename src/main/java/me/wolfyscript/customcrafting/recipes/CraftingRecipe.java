@@ -104,6 +104,11 @@ public abstract class CraftingRecipe<C extends CraftingRecipe<C, S>, S extends C
         return ingredients.get(slot);
     }
 
+    @Override
+    public List<Ingredient> getRecipeIngredients() {
+        return getIngredients();
+    }
+
     @JsonIgnore
     public abstract boolean isShapeless();
 
@@ -28,6 +28,7 @@ import com.wolfyscript.utilities.dependency.DependencySource;
 import me.wolfyscript.customcrafting.CustomCrafting;
 import me.wolfyscript.customcrafting.data.CCCache;
 import me.wolfyscript.customcrafting.handlers.ResourceLoader;
+import me.wolfyscript.customcrafting.recipes.conditions.Condition;
 import me.wolfyscript.customcrafting.recipes.conditions.Conditions;
 import me.wolfyscript.customcrafting.recipes.items.Ingredient;
 import me.wolfyscript.customcrafting.recipes.items.Result;
@@ -270,6 +271,17 @@ public abstract class CustomRecipe<C extends CustomRecipe<C>> implements Keyed,
 
     public abstract Ingredient getIngredient(int slot);
 
+    /**
+     * Gets all the ingredients of this recipe.<br>
+     * This is used to index the recipes by the items they use, so it must include every ingredient that is checked by the recipe.
+     *
+     * @return The ingredients of this recipe.
+     */
+    @JsonIgnore
+    public List<Ingredient> getRecipeIngredients() {
+        return List.of();
+    }
+
     public Result getResult() {
         return result;
     }
@@ -316,6 +328,18 @@ public abstract class CustomRecipe<C extends CustomRecipe<C>> implements Keyed,
         return getConditions().checkConditions(this, data);
     }
 
+    /**
+     * Checks only the conditions of the recipe within the specified cost range against specified data.
+     *
+     * @param data The data to check the conditions against.
+     * @param from The lowest cost of the conditions to check (inclusive).
+     * @param to   The highest cost of the conditions to check (inclusive).
+     * @return True if the conditions within the range are met.
+     */
+    public boolean checkConditions(Conditions.Data data, Condition.Cost from, Condition.Cost to) {
+        return getConditions().checkConditions(this, data, from, to);
+    }
+
     /**
      * Checks a specific condition of this recipe against the specified data.
      * If the condition does not exist, it will return true.
@@ -334,7 +358,7 @@ public abstract class CustomRecipe<C extends CustomRecipe<C>> implements Keyed,
     }
 
     public boolean findResultItem(ItemStack result) {
-        return getResult().choices().stream().anyMatch(reference -> reference.matches(result));
+        return getResult().choicesFor(result).stream().anyMatch(reference -> reference.matches(result));
     }
 
     /**
@@ -57,6 +57,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @JsonIgnoreProperties({"result"})
 public class CustomRecipeAnvil extends CustomRecipe<CustomRecipeAnvil> {
@@ -321,6 +323,11 @@ public class CustomRecipeAnvil extends CustomRecipe<CustomRecipeAnvil> {
         return slot == 0 ? this.base : this.addition;
     }
 
+    @Override
+    public List<Ingredient> getRecipeIngredients() {
+        return Stream.of(this.base, this.addition).filter(Objects::nonNull).toList();
+    }
+
     @Override
     public CustomRecipeAnvil clone() {
         return new CustomRecipeAnvil(this);
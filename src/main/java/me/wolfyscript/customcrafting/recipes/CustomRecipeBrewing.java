@@ -69,6 +69,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class CustomRecipeBrewing extends CustomRecipe<CustomRecipeBrewing> {
 
@@ -173,6 +174,11 @@ public class CustomRecipeBrewing extends CustomRecipe<CustomRecipeBrewing> {
         return slot == 0 ? this.ingredients : this.allowedItems;
     }
 
+    @Override
+    public List<Ingredient> getRecipeIngredients() {
+        return Stream.of(this.ingredients, this.allowedItems).filter(Objects::nonNull).toList();
+    }
+
     @JsonIgnore
     public Ingredient getIngredient() {
         return getIngredient(0);
@@ -413,7 +419,7 @@ public class CustomRecipeBrewing extends CustomRecipe<CustomRecipeBrewing> {
             if (getAllowedItems().isEmpty()) {
                 return result.getType().equals(Material.POTION);
             }
-            return getAllowedItems().choices().stream().anyMatch(reference -> reference.matches(result));
+            return getAllowedItems().choicesFor(result).stream().anyMatch(reference -> reference.matches(result));
         }
         return super.findResultItem(result);
     }
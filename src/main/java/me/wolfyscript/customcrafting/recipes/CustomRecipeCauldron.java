@@ -310,6 +310,11 @@ public class CustomRecipeCauldron extends CustomRecipe<CustomRecipeCauldron> {
         return this.ingredients.toArray(new Ingredient[0])[slot];
     }
 
+    @Override
+    public List<Ingredient> getRecipeIngredients() {
+        return List.copyOf(this.ingredients);
+    }
+
     @JsonIgnore
     public void setIngredient(Ingredient ingredient) {
         addIngredients(ingredient);
@@ -115,6 +115,11 @@ public abstract class CustomRecipeCooking<C extends CustomRecipeCooking<C, T>, T
         return this.source;
     }
 
+    @Override
+    public List<Ingredient> getRecipeIngredients() {
+        return this.source == null ? List.of() : List.of(this.source);
+    }
+
     private void setIngredient(int slot, Ingredient ingredient) {
         setSource(ingredient);
     }
@@ -49,6 +49,9 @@ import me.wolfyscript.utilities.util.NamespacedKey;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 public class CustomRecipeGrindstone extends CustomRecipe<CustomRecipeGrindstone> {
 
@@ -109,6 +112,11 @@ public class CustomRecipeGrindstone extends CustomRecipe<CustomRecipeGrindstone>
         return slot == 0 ? getInputTop() : getInputBottom();
     }
 
+    @Override
+    public List<Ingredient> getRecipeIngredients() {
+        return Stream.of(getInputTop(), getInputBottom()).filter(Objects::nonNull).toList();
+    }
+
     public Ingredient getInputTop() {
         return inputTop;
     }
@@ -64,6 +64,7 @@ import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class CustomRecipeSmithing extends CustomRecipe<CustomRecipeSmithing> implements ICustomVanillaRecipe<SmithingRecipe> {
 
@@ -191,6 +192,11 @@ public class CustomRecipeSmithing extends CustomRecipe<CustomRecipeSmithing> imp
         return slot == 0 ? getBase() : getAddition();
     }
 
+    @Override
+    public List<Ingredient> getRecipeIngredients() {
+        return Stream.of(getTemplate(), getBase(), getAddition()).filter(Objects::nonNull).toList();
+    }
+
     public Ingredient getAddition() {
         return addition;
     }
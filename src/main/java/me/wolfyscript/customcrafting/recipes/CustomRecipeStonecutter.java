@@ -53,6 +53,7 @@ import org.bukkit.inventory.StonecuttingRecipe;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
+import java.util.List;
 
 public class CustomRecipeStonecutter extends CustomRecipe<CustomRecipeStonecutter> implements ICustomVanillaRecipe<StonecuttingRecipe> {
 
@@ -129,6 +130,11 @@ public class CustomRecipeStonecutter extends CustomRecipe<CustomRecipeStonecutte
         return this.source;
     }
 
+    @Override
+    public List<Ingredient> getRecipeIngredients() {
+        return this.source == null ? List.of() : List.of(this.source);
+    }
+
     @Override
     public CustomRecipeStonecutter clone() {
         return new CustomRecipeStonecutter(this);
@@ -0,0 +1,218 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.recipes;
+
+import com.wolfyscript.utilities.bukkit.world.items.reference.StackReference;
+import me.wolfyscript.customcrafting.recipes.items.Ingredient;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Matches the items of a crafting grid to the ingredients of a shapeless recipe.<br>
+ * <br>
+ * Each item is checked only once against each ingredient, and the results are stored as a bit-mask of compatible ingredients per item.<br>
+ * Then the items are assigned to the ingredients by finding a perfect matching in that bipartite graph using the Hopcroft–Karp algorithm.<br>
+ * Ingredients that allow to be empty are paired with placeholder items, so that every ingredient, that is not allowed to be empty, must be matched by an actual item.
+ * <br>
+ * The instance keeps its arrays between checks, so it must not be shared between threads.
+ */
+final class ShapelessMatcher {
+
+    static final int MAX_INGREDIENTS = Long.SIZE;
+    private static final int UNMATCHED = -1;
+    private static final int INFINITE = Integer.MAX_VALUE;
+
+    private long[] compatible = new long[0];
+    private StackReference[] choices = new StackReference[0];
+    private int[] matchedIngredient = new int[0];
+    private int[] matchedItem = new int[0];
+    private int[] distance = new int[0];
+    private int[] queue = new int[0];
+    private int ingredientCount;
+
+    /**
+     * Tries to assign each of the items to a distinct ingredient.
+     *
+     * @param items       The non-air items of the grid.
+     * @param ingredients The ingredients of the recipe. Must not be more than {@link #MAX_INGREDIENTS}.
+     * @param exactMatch  If the meta of the items must match exactly.
+     * @return True if every item is assigned to an ingredient and every ingredient, that is not allowed to be empty, has an item assigned; false otherwise.
+     */
+    boolean match(ItemStack[] items, List<Ingredient> ingredients, boolean exactMatch) {
+        final int itemCount = items.length;
+        ingredientCount = ingredients.size();
+        if (itemCount > ingredientCount || ingredientCount > MAX_INGREDIENTS) return false;
+        ensureCapacity(ingredientCount);
+        // The placeholder items take up the ingredients that are allowed to be empty.
+        long optionalIngredients = 0;
+        for (int j = 0; j < ingredientCount; j++) {
+            if (ingredients.get(j).isAllowEmpty()) {
+                optionalIngredients |= 1L << j;
+            }
+        }
+        long coveredIngredients = 0;
+        for (int i = 0; i < itemCount; i++) {
+            int duplicate = findDuplicate(items, i);
+            if (duplicate >= 0) {
+                // Same item as a previous slot, so the same ingredients apply.
+                compatible[i] = compatible[duplicate];
+                System.arraycopy(choices, duplicate * ingredientCount, choices, i * ingredientCount, ingredientCount);
+            } else {
+                long mask = 0;
+                for (int j = 0; j < ingredientCount; j++) {
+                    Optional<StackReference> choice = ingredients.get(j).checkChoices(items[i], exactMatch);
+                    choices[i * ingredientCount + j] = choice.orElse(null);
+                    if (choice.isPresent()) {
+                        mask |= 1L << j;
+                    }
+                }
+                if (mask == 0) return false; // The item cannot be used by any ingredient.
+                compatible[i] = mask;
+            }
+            coveredIngredients |= compatible[i];
+        }
+        if ((coveredIngredients | optionalIngredients) != fullMask(ingredientCount)) return false; // A required ingredient is not matched by any item.
+        for (int i = itemCount; i < ingredientCount; i++) {
+            compatible[i] = optionalIngredients;
+        }
+        return findPerfectMatching(ingredientCount);
+    }
+
+    /**
+     * @param item The index of the item.
+     * @return The index of the ingredient assigned to the item by the last successful {@link #match(ItemStack[], List, boolean)}.
+     */
+    int ingredientOf(int item) {
+        return matchedIngredient[item];
+    }
+
+    /**
+     * @param item The index of the item.
+     * @return The choice of the assigned ingredient, that matched the item in the last successful {@link #match(ItemStack[], List, boolean)}.
+     */
+    StackReference choiceOf(int item) {
+        return choices[item * ingredientCount + matchedIngredient[item]];
+    }
+
+    /**
+     * Clears the references to the checked items and choices, so these are not kept alive by the matcher.
+     */
+    void reset() {
+        Arrays.fill(choices, null);
+    }
+
+    private static int findDuplicate(ItemStack[] items, int index) {
+        for (int k = 0; k < index; k++) {
+            if (items[k].equals(items[index])) return k;
+        }
+        return -1;
+    }
+
+    private static long fullMask(int size) {
+        return size == Long.SIZE ? -1L : (1L << size) - 1;
+    }
+
+    private void ensureCapacity(int size) {
+        if (compatible.length < size) {
+            compatible = new long[size];
+            matchedIngredient = new int[size];
+            matchedItem = new int[size];
+            distance = new int[size];
+            queue = new int[size];
+        }
+        if (choices.length < size * size) {
+            choices = new StackReference[size * size];
+        }
+    }
+
+    private boolean findPerfectMatching(int size) {
+        Arrays.fill(matchedIngredient, 0, size, UNMATCHED);
+        Arrays.fill(matchedItem, 0, size, UNMATCHED);
+        int matched = 0;
+        while (buildLayers(size)) {
+            for (int item = 0; item < size; item++) {
+                if (matchedIngredient[item] == UNMATCHED && augment(item)) {
+                    matched++;
+                }
+            }
+        }
+        return matched == size;
+    }
+
+    /**
+     * Breadth-first search from all unmatched items, that layers the items by the length of their alternating path.
+     *
+     * @return True if there is at least one augmenting path left.
+     */
+    private boolean buildLayers(int size) {
+        int head = 0;
+        int tail = 0;
+        for (int item = 0; item < size; item++) {
+            if (matchedIngredient[item] == UNMATCHED) {
+                distance[item] = 0;
+                queue[tail++] = item;
+            } else {
+                distance[item] = INFINITE;
+            }
+        }
+        boolean found = false;
+        while (head < tail) {
+            int item = queue[head++];
+            long mask = compatible[item];
+            while (mask != 0) {
+                int ingredient = Long.numberOfTrailingZeros(mask);
+                mask &= mask - 1;
+                int next = matchedItem[ingredient];
+                if (next == UNMATCHED) {
+                    found = true;
+                } else if (distance[next] == INFINITE) {
+                    distance[next] = distance[item] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Depth-first search along the layers, that flips the first augmenting path found from the specified item.
+     */
+    private boolean augment(int item) {
+        long mask = compatible[item];
+        while (mask != 0) {
+            int ingredient = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+            int next = matchedItem[ingredient];
+            if (next == UNMATCHED || (distance[next] == distance[item] + 1 && augment(next))) {
+                matchedIngredient[item] = ingredient;
+                matchedItem[ingredient] = item;
+                return true;
+            }
+        }
+        distance[item] = INFINITE;
+        return false;
+    }
+
+}
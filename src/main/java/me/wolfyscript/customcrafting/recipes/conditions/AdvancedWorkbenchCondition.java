@@ -41,6 +41,11 @@ public class AdvancedWorkbenchCondition extends Condition<AdvancedWorkbenchCondi
         setAvailableOptions(Conditions.Option.EXACT);
     }
 
+    @Override
+    public Cost getCost() {
+        return Cost.MODERATE;
+    }
+
     @Override
     public boolean check(CustomRecipe<?> recipe, Conditions.Data data) {
         if (recipe instanceof CraftingRecipe) {
@@ -136,6 +136,17 @@ public abstract class Condition<C extends Condition<C>> implements Keyed {
 
     public abstract boolean check(CustomRecipe<?> recipe, Conditions.Data data);
 
+    /**
+     * The cost of {@link #check(CustomRecipe, Conditions.Data)}, which decides the order the conditions are checked in.<br>
+     * Cheaper conditions are checked first, so the costly ones are skipped if a cheap condition already fails.
+     *
+     * @return The cost of the check of this condition.
+     */
+    @JsonIgnore
+    public Cost getCost() {
+        return Cost.MODERATE;
+    }
+
     @JsonIgnore
     @Override
     public NamespacedKey getNamespacedKey() {
@@ -162,6 +173,28 @@ public abstract class Condition<C extends Condition<C>> implements Keyed {
         }
     }
 
+    /**
+     * Rough classification of how costly it is to check a condition.
+     */
+    public enum Cost {
+        /**
+         * Only compares values that are already available (e.g. the level of the player, the time of the world).
+         */
+        TRIVIAL,
+        /**
+         * Does simple lookups (e.g. permissions, stored player data).
+         */
+        CHEAP,
+        /**
+         * Looks up data of the world (e.g. block data, biomes). This is also used for conditions that don't specify a cost.
+         */
+        MODERATE,
+        /**
+         * Iterates over a lot of data or evaluates expressions (e.g. scoreboards, advancements, custom checks).
+         */
+        EXPENSIVE
+    }
+
     /**
      * GUI Component to edit conditions of this type. <br>
      * This GUI Component will be initialized once when the ConditionsMenu is initiated and will be used for all the instances of conditions of this type. <br>
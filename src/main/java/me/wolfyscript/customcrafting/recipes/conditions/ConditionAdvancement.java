@@ -66,6 +66,11 @@ public class ConditionAdvancement extends Condition<ConditionAdvancement> {
         };
     }
 
+    @Override
+    public Cost getCost() {
+        return Cost.EXPENSIVE;
+    }
+
     @Override
     public boolean check(CustomRecipe<?> recipe, Conditions.Data data) {
         if (data.getPlayer() != null) {
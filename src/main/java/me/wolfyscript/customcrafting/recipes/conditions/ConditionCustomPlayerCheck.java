@@ -51,6 +51,11 @@ public class ConditionCustomPlayerCheck extends Condition<ConditionCustomPlayerC
         };
     }
 
+    @Override
+    public Cost getCost() {
+        return Cost.EXPENSIVE;
+    }
+
     @Override
     public boolean check(CustomRecipe<?> recipe, Conditions.Data data) {
         Player player = data.getPlayer();
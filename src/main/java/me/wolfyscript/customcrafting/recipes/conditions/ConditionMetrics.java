@@ -0,0 +1,107 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.recipes.conditions;
+
+import me.wolfyscript.customcrafting.recipes.CustomRecipe;
+import me.wolfyscript.utilities.util.NamespacedKey;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how often the conditions are checked, how often they fail, and how long the checks take.<br>
+ * The values are collected per condition type and per recipe namespace, so it is visible which conditions and packs cost the most.<br>
+ * <br>
+ * Collecting the metrics is disabled by default, as measuring the time adds a small overhead to each check.
+ */
+public class ConditionMetrics {
+
+    private volatile boolean enabled = false;
+    private final Map<NamespacedKey, Stats> byCondition = new ConcurrentHashMap<>();
+    private final Map<String, Stats> byNamespace = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    void record(Condition<?> condition, CustomRecipe<?> recipe, boolean passed, long nanos) {
+        byCondition.computeIfAbsent(condition.getNamespacedKey(), key -> new Stats()).record(passed, nanos);
+        byNamespace.computeIfAbsent(recipe.getNamespacedKey().getNamespace(), key -> new Stats()).record(passed, nanos);
+    }
+
+    /**
+     * @return An unmodifiable view of the metrics of each condition type.
+     */
+    public Map<NamespacedKey, Stats> getConditionStats() {
+        return Collections.unmodifiableMap(byCondition);
+    }
+
+    /**
+     * @return An unmodifiable view of the metrics of the conditions of each recipe namespace.
+     */
+    public Map<String, Stats> getNamespaceStats() {
+        return Collections.unmodifiableMap(byNamespace);
+    }
+
+    public void reset() {
+        byCondition.clear();
+        byNamespace.clear();
+    }
+
+    public static final class Stats {
+
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private void record(boolean passed, long nanos) {
+            this.evaluations.increment();
+            if (!passed) {
+                this.failures.increment();
+            }
+            this.nanos.add(nanos);
+        }
+
+        public long getEvaluations() {
+            return evaluations.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public long getNanos() {
+            return nanos.sum();
+        }
+
+        public double getMillis() {
+            return getNanos() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
@@ -61,6 +61,11 @@ public class ConditionScoreboard extends Condition<ConditionScoreboard> {
         };
     }
 
+    @Override
+    public Cost getCost() {
+        return Cost.EXPENSIVE;
+    }
+
     @Override
     public boolean check(CustomRecipe<?> recipe, Conditions.Data data) {
         Player player = data.getPlayer();
@@ -24,7 +24,9 @@ package me.wolfyscript.customcrafting.recipes.conditions;
 
 import com.google.common.base.Preconditions;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -58,6 +60,9 @@ public class Conditions {
     private final Map<NamespacedKey, Condition<?>> valuesMap;
     @JacksonInject("customcrafting")
     private final CustomCrafting customCrafting;
+    // The conditions sorted by their cost. Recreated on the next check after the conditions changed.
+    @JsonIgnore
+    private volatile Pipeline pipeline = null;
 
     //Conditions initialization
     public Conditions(CustomCrafting customCrafting) {
@@ -105,8 +110,55 @@ public class Conditions {
         return condition == null || condition.check(customRecipe, data);
     }
 
+    /**
+     * Checks all the conditions, cheapest first.
+     *
+     * @param customRecipe The recipe the conditions belong to.
+     * @param data         The data to check the conditions against.
+     * @return True if all the conditions are met.
+     */
     public boolean checkConditions(CustomRecipe<?> customRecipe, Data data) {
-        return valuesMap.values().stream().allMatch(condition -> condition.check(customRecipe, data));
+        return checkConditions(customRecipe, data, Condition.Cost.TRIVIAL, Condition.Cost.EXPENSIVE);
+    }
+
+    /**
+     * Checks only the conditions within the specified cost range, cheapest first.<br>
+     * This makes it possible to do other checks (e.g. the ingredients) in between the cheap and the costly conditions.
+     *
+     * @param customRecipe The recipe the conditions belong to.
+     * @param data         The data to check the conditions against.
+     * @param from         The lowest cost of the conditions to check (inclusive).
+     * @param to           The highest cost of the conditions to check (inclusive).
+     * @return True if all the conditions within the range are met.
+     */
+    public boolean checkConditions(CustomRecipe<?> customRecipe, Data data, Condition.Cost from, Condition.Cost to) {
+        Pipeline current = pipeline();
+        int start = current.offsets()[from.ordinal()];
+        int end = current.offsets()[to.ordinal() + 1];
+        Condition<?>[] conditions = current.conditions();
+        ConditionMetrics metrics = customCrafting != null ? customCrafting.getConditionMetrics() : null;
+        if (metrics == null || !metrics.isEnabled()) {
+            for (int i = start; i < end; i++) {
+                if (!conditions[i].check(customRecipe, data)) return false;
+            }
+            return true;
+        }
+        for (int i = start; i < end; i++) {
+            long startTime = System.nanoTime();
+            boolean passed = conditions[i].check(customRecipe, data);
+            metrics.record(conditions[i], customRecipe, passed, System.nanoTime() - startTime);
+            if (!passed) return false;
+        }
+        return true;
+    }
+
+    private Pipeline pipeline() {
+        Pipeline current = pipeline;
+        if (current == null) {
+            current = Pipeline.of(valuesMap.values());
+            pipeline = current;
+        }
+        return current;
     }
 
     @JsonIgnore
@@ -128,14 +180,17 @@ public class Conditions {
 
     public void setCondition(Condition<?> condition) {
         valuesMap.put(condition.getNamespacedKey(), condition);
+        pipeline = null;
     }
 
     public void removeCondition(Condition<?> condition) {
         valuesMap.remove(condition.getNamespacedKey());
+        pipeline = null;
     }
 
     public void removeCondition(NamespacedKey key) {
         valuesMap.remove(key);
+        pipeline = null;
     }
 
     public Collection<Condition<?>> getValues() {
@@ -151,6 +206,30 @@ public class Conditions {
         return valuesMap.get(new NamespacedKey(NamespacedKeyUtils.NAMESPACE, id));
     }
 
+    /**
+     * The conditions sorted by cost, and the index of the first condition of each cost.
+     */
+    private record Pipeline(Condition<?>[] conditions, int[] offsets) {
+
+        private static final Comparator<Condition<?>> ORDER = Comparator.<Condition<?>, Condition.Cost>comparing(Condition::getCost).thenComparing(condition -> condition.getNamespacedKey().toString());
+
+        static Pipeline of(Collection<Condition<?>> values) {
+            Condition<?>[] conditions = values.toArray(new Condition<?>[0]);
+            Arrays.sort(conditions, ORDER);
+            Condition.Cost[] costs = Condition.Cost.values();
+            int[] offsets = new int[costs.length + 1];
+            int index = 0;
+            for (Condition.Cost cost : costs) {
+                offsets[cost.ordinal()] = index;
+                while (index < conditions.length && conditions[index].getCost() == cost) {
+                    index++;
+                }
+            }
+            offsets[costs.length] = conditions.length;
+            return new Pipeline(conditions, offsets);
+        }
+    }
+
     public enum Option {
         EXACT,
         @Deprecated /*Ignore is no longer used! Previous conditions using it will no longer be loaded!*/ IGNORE,
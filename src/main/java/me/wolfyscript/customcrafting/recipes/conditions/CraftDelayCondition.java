@@ -57,6 +57,11 @@ public class CraftDelayCondition extends Condition<CraftDelayCondition> {
         return recipe instanceof CraftingRecipe;
     }
 
+    @Override
+    public Cost getCost() {
+        return Cost.TRIVIAL;
+    }
+
     @Override
     public boolean check(CustomRecipe<?> recipe, Conditions.Data data) {
         Player player = data.getPlayer();
@@ -50,6 +50,11 @@ public class CraftLimitCondition extends Condition<CraftLimitCondition> {
         return recipe instanceof CraftingRecipe;
     }
 
+    @Override
+    public Cost getCost() {
+        return Cost.CHEAP;
+    }
+
     @Override
     public boolean check(CustomRecipe<?> recipe, Conditions.Data data) {
         Player player = data.getPlayer();
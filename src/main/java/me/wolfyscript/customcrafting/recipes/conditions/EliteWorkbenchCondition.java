@@ -67,6 +67,11 @@ public class EliteWorkbenchCondition extends Condition<EliteWorkbenchCondition>
         return RecipeType.Container.ELITE_CRAFTING.isInstance(recipe);
     }
 
+    @Override
+    public Cost getCost() {
+        return Cost.MODERATE;
+    }
+
     @Override
     public boolean check(CustomRecipe<?> recipe, Conditions.Data data) {
         if (RecipeType.Container.ELITE_CRAFTING.isInstance(recipe)) {
@@ -56,6 +56,11 @@ public class ExperienceCondition extends Condition<ExperienceCondition> {
         return valid(recipe);
     }
 
+    @Override
+    public Cost getCost() {
+        return Cost.TRIVIAL;
+    }
+
     @Override
     public boolean check(CustomRecipe<?> recipe, Conditions.Data data) {
         if (data.getPlayer() != null) {
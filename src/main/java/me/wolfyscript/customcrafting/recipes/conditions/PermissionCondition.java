@@ -61,6 +61,11 @@ public class PermissionCondition extends Condition<PermissionCondition> {
         return permission;
     }
 
+    @Override
+    public Cost getCost() {
+        return Cost.CHEAP;
+    }
+
     @Override
     public boolean check(CustomRecipe<?> recipe, Conditions.Data data) {
         if (recipe instanceof CustomRecipeCooking && data.getPlayer() == null) {
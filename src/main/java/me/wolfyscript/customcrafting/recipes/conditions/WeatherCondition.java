@@ -59,6 +59,11 @@ public class WeatherCondition extends Condition<WeatherCondition> {
         weather = Weather.values()[index];
     }
 
+    @Override
+    public Cost getCost() {
+        return Cost.TRIVIAL;
+    }
+
     @Override
     public boolean check(CustomRecipe<?> recipe, Conditions.Data data) {
         Block block = data.getBlock();
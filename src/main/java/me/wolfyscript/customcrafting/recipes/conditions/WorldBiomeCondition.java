@@ -47,6 +47,11 @@ public class WorldBiomeCondition extends Condition<WorldBiomeCondition> {
         this.biomes = new ArrayList<>();
     }
 
+    @Override
+    public Cost getCost() {
+        return Cost.MODERATE;
+    }
+
     @Override
     public boolean check(CustomRecipe<?> recipe, Conditions.Data data) {
         if (data.getBlock() != null) {
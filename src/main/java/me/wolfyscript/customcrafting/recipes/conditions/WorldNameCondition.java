@@ -56,6 +56,11 @@ public class WorldNameCondition extends Condition<WorldNameCondition> {
         this.worldNames = new ArrayList<>();
     }
 
+    @Override
+    public Cost getCost() {
+        return Cost.TRIVIAL;
+    }
+
     @Override
     public boolean check(CustomRecipe<?> recipe, Conditions.Data data) {
         if (data.getBlock() != null) {
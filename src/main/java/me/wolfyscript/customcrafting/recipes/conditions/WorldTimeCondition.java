@@ -40,6 +40,11 @@ public class WorldTimeCondition extends Condition<WorldTimeCondition> {
         setAvailableOptions(Conditions.Option.EXACT, Conditions.Option.LOWER, Conditions.Option.LOWER_EXACT, Conditions.Option.HIGHER, Conditions.Option.HIGHER_EXACT, Conditions.Option.HIGHER_LOWER);
     }
 
+    @Override
+    public Cost getCost() {
+        return Cost.TRIVIAL;
+    }
+
     @Override
     public boolean check(CustomRecipe<?> recipe, Conditions.Data data) {
         if (data.getBlock() != null) {
@@ -0,0 +1,94 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.recipes.items;
+
+import com.wolfyscript.utilities.bukkit.world.items.reference.StackReference;
+import me.wolfyscript.customcrafting.utils.StackReferenceUtils;
+import org.bukkit.Material;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups the choices of a {@link RecipeItemStack} by their material, so only the choices of the same material need to be matched against an item.<br>
+ * This makes a big difference for choices that were expanded from tags (e.g. <code>#minecraft:logs</code>), as each material of the tag is a separate choice.<br>
+ * <br>
+ * Vanilla items are grouped by their material, as they can only match items of that material.
+ * All other choices (e.g. custom items, whose material may be edited after the index is built, and items of third-party plugins) are included in each group, as they might match items of any material.<br>
+ * The choices of each group keep the order of the original choices, so the first matching choice stays the same.
+ */
+final class ChoiceIndex {
+
+    static final ChoiceIndex EMPTY = new ChoiceIndex(new EnumMap<>(Material.class), List.of());
+
+    private final Map<Material, List<StackReference>> byMaterial;
+    private final List<StackReference> unresolved;
+
+    private ChoiceIndex(Map<Material, List<StackReference>> byMaterial, List<StackReference> unresolved) {
+        this.byMaterial = byMaterial;
+        this.unresolved = unresolved;
+    }
+
+    static ChoiceIndex of(List<StackReference> choices) {
+        if (choices.isEmpty()) return EMPTY;
+        Material[] materials = new Material[choices.size()];
+        Set<Material> distinct = new LinkedHashSet<>();
+        List<StackReference> unresolved = new ArrayList<>();
+        for (int i = 0; i < materials.length; i++) {
+            StackReference reference = choices.get(i);
+            materials[i] = materialOf(reference);
+            if (materials[i] == null) {
+                unresolved.add(reference);
+            } else {
+                distinct.add(materials[i]);
+            }
+        }
+        Map<Material, List<StackReference>> byMaterial = new EnumMap<>(Material.class);
+        for (Material material : distinct) {
+            List<StackReference> group = new ArrayList<>();
+            for (int i = 0; i < materials.length; i++) {
+                if (materials[i] == null || materials[i] == material) {
+                    group.add(choices.get(i));
+                }
+            }
+            byMaterial.put(material, List.copyOf(group));
+        }
+        return new ChoiceIndex(byMaterial, List.copyOf(unresolved));
+    }
+
+    /**
+     * @param material The material of the item to match.
+     * @return The choices that may match an item of that material, in the order of the original choices.
+     */
+    List<StackReference> get(Material material) {
+        return byMaterial.getOrDefault(material, unresolved);
+    }
+
+    private static Material materialOf(StackReference reference) {
+        return StackReferenceUtils.materialOf(reference);
+    }
+
+}
@@ -126,7 +126,11 @@ public class Ingredient extends RecipeItemStack {
     }
 
     public Optional<StackReference> checkChoices(ItemStack itemStack, boolean exactMatch) {
-        if (itemStack == null) return Optional.empty();
-        return choices.stream().filter(reference -> reference.matches(itemStack, exactMatch)).findFirst();
+        for (StackReference reference : choicesFor(itemStack)) {
+            if (reference.matches(itemStack, exactMatch)) {
+                return Optional.of(reference);
+            }
+        }
+        return Optional.empty();
     }
 }
@@ -109,6 +109,8 @@ public abstract class RecipeItemStack {
     @JsonIgnore
     protected final List<CustomItem> oldChoices;
     protected final List<StackReference> choices;
+    @JsonIgnore
+    private volatile ChoiceIndex choiceIndex = ChoiceIndex.EMPTY;
     @DependencySource
     private List<StackReference> items;
     private Set<NamespacedKey> tags;
@@ -216,12 +218,26 @@ public abstract class RecipeItemStack {
         // old choices use CustomItems
         oldChoices.clear();
         choices.stream().map(StackReference::convertToLegacy).forEach(oldChoices::add);
+        choiceIndex = ChoiceIndex.of(choices);
     }
 
     public List<StackReference> choices() {
         return choices;
     }
 
+    /**
+     * Gets the choices, that may match the specified ItemStack.<br>
+     * Only the choices of the same material, and choices that may match any material (e.g. third-party items), are included.<br>
+     * The choices are in the same order as in {@link #choices()}, so they can be used to find the first matching choice.
+     *
+     * @param itemStack The ItemStack to get the choices for.
+     * @return An immutable list of the choices, that may match the ItemStack.
+     */
+    public List<StackReference> choicesFor(ItemStack itemStack) {
+        if (itemStack == null) return List.of();
+        return choiceIndex.get(itemStack.getType());
+    }
+
     public Stream<StackReference> choicesStream() {
         return choices.stream();
     }
@@ -22,6 +22,7 @@
 
 package me.wolfyscript.customcrafting.recipes.items;
 
+import com.wolfyscript.utilities.bukkit.world.items.reference.StackIdentifier;
 import com.wolfyscript.utilities.bukkit.world.items.reference.StackReference;
 import com.wolfyscript.utilities.verification.ObjectVerifier;
 import com.wolfyscript.utilities.verification.VerifierBuilder;
@@ -30,6 +31,7 @@ import me.wolfyscript.customcrafting.recipes.data.RecipeData;
 import me.wolfyscript.customcrafting.recipes.items.extension.ExecutionType;
 import me.wolfyscript.customcrafting.recipes.items.extension.ResultExtension;
 import me.wolfyscript.customcrafting.recipes.items.target.ResultTarget;
+import me.wolfyscript.customcrafting.utils.WeightedSampler;
 import me.wolfyscript.customcrafting.utils.NamespacedKeyUtils;
 import me.wolfyscript.lib.com.fasterxml.jackson.annotation.*;
 import me.wolfyscript.utilities.api.inventory.custom_items.CustomItem;
@@ -42,11 +44,11 @@ import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -56,18 +58,13 @@ public class Result extends RecipeItemStack {
 
     public static final ObjectVerifier<Result> VERIFIER = VerifierBuilder.<Result>object(new NamespacedKey(NamespacedKeyUtils.NAMESPACE, "recipe/result"), RecipeItemStack.validatorFor()).build();
 
-    @JsonIgnore
-    private final Map<UUID, CustomItem> cachedItems = new HashMap<>();
-    @JsonIgnore
-    private final Map<UUID, StackReference> cachedReferences = new HashMap<>();
-    @JsonIgnore
-    private final Map<Vector, CustomItem> cachedBlockItems = new HashMap<>();
-    @JsonIgnore
-    private final Map<Vector, StackReference> cachedBlockReferences = new HashMap<>();
     private ResultTarget target;
     private List<ResultExtension> extensions;
     @JsonIgnore
     private List<ResultExtension> bulkExtensions = new ArrayList<>();
+    // No initial value, as it is already set by buildChoices() in the super constructor.
+    @JsonIgnore
+    private ChoiceSampler sampler;
 
     public Result() {
         super();
@@ -156,6 +153,30 @@ public class Result extends RecipeItemStack {
         removeExtension(this.extensions.get(index));
     }
 
+    @Override
+    public void buildChoices() {
+        super.buildChoices();
+        this.sampler = new ChoiceSampler(choices());
+    }
+
+    /**
+     * Gets the sampler, that chooses random items of this result according to their weight.<br>
+     * The sampler is only built once per set of choices, so it can be used repeatedly without any allocations.
+     *
+     * @param player The player to get the sampler for. Items the player has no permission for are excluded.
+     * @return The sampler of the items available to the player.
+     */
+    public WeightedSampler<StackReference> sampler(@Nullable Player player) {
+        return sampler.get(player);
+    }
+
+    /**
+     * Creates a new collection of the items available to the player.<br>
+     * Use {@link #sampler(Player)} instead, if only random items need to be chosen, as it doesn't need to be created each time.
+     *
+     * @param player The player to get the items for.
+     * @return A new collection of the items available to the player.
+     */
     public RandomCollection<StackReference> randomChoices(@Nullable Player player) {
         return (player == null ? choices() : choices(player)).stream().collect(RandomCollection.getCollector((rdmCollection, reference) -> rdmCollection.add(reference.weight(), reference)));
     }
@@ -165,9 +186,7 @@ public class Result extends RecipeItemStack {
      * @return The optional {@link CustomItem} for that player. This might be a cached Item if the player hasn't taken it out previously.
      */
     public Optional<StackReference> item(@Nullable Player player) {
-        StackReference item = cachedReferences.computeIfAbsent(player == null ? null : player.getUniqueId(), uuid -> randomChoices(player).next());
-        addCachedReference(player, item);
-        return Optional.ofNullable(item);
+        return Optional.ofNullable(CustomCrafting.inst().getResultSelectionCache().get(this, player, () -> sampler(player).next()));
     }
 
     /**
@@ -175,10 +194,7 @@ public class Result extends RecipeItemStack {
      * @return The optional {@link CustomItem} for that block. This might be a cached Item if the block failed to processed it.
      */
     public Optional<StackReference> item(@NotNull Block block) {
-        var vector = block.getLocation().toVector();
-        var item = cachedBlockReferences.computeIfAbsent(vector, uuid -> randomChoices(null).next());
-        addCachedReference(vector, item);
-        return Optional.ofNullable(item);
+        return Optional.ofNullable(CustomCrafting.inst().getResultSelectionCache().get(this, block, () -> sampler(null).next()));
     }
 
     /**
@@ -264,68 +280,36 @@ public class Result extends RecipeItemStack {
         return chosenItem.create();
     }
 
-    private void addCachedReference(Player player, StackReference reference) {
-        if (player != null) {
-            if (reference == null) {
-                cachedReferences.remove(player.getUniqueId());
-            } else {
-                cachedReferences.put(player.getUniqueId(), reference);
-            }
-        }
-    }
-
+    /**
+     * Removes the cached item of the player, so a new item is chosen the next time.
+     *
+     * @param player The player to remove the cached item for.
+     */
     public void removeCachedReference(Player player) {
         if (player != null) {
-            cachedReferences.remove(player.getUniqueId());
-        }
-    }
-
-    private void addCachedReference(Vector block, StackReference reference) {
-        if (block != null) {
-            if (reference == null) {
-                cachedBlockReferences.remove(block);
-            } else {
-                cachedBlockReferences.put(block, reference);
-            }
+            CustomCrafting.inst().getResultSelectionCache().remove(this, player);
         }
     }
 
+    /**
+     * Removes the cached item of the block, so a new item is chosen the next time.
+     *
+     * @param block The block to remove the cached item for.
+     */
     public void removeCachedReference(Block block) {
         if (block != null) {
-            cachedBlockReferences.remove(block.getLocation().toVector());
-        }
-    }
-
-    private void addCachedItem(Player player, CustomItem customItem) {
-        if (player != null) {
-            if (customItem == null) {
-                cachedItems.remove(player.getUniqueId());
-            } else {
-                cachedItems.put(player.getUniqueId(), customItem);
-            }
+            CustomCrafting.inst().getResultSelectionCache().remove(this, block);
         }
     }
 
+    @Deprecated(forRemoval = true, since = "4.16.9")
     public void removeCachedItem(Player player) {
-        if (player != null) {
-            cachedItems.remove(player.getUniqueId());
-        }
-    }
-
-    private void addCachedItem(Vector block, CustomItem customItem) {
-        if (block != null) {
-            if (customItem == null) {
-                cachedBlockItems.remove(block);
-            } else {
-                cachedBlockItems.put(block, customItem);
-            }
-        }
+        removeCachedReference(player);
     }
 
+    @Deprecated(forRemoval = true, since = "4.16.9")
     public void removeCachedItem(Block block) {
-        if (block != null) {
-            cachedBlockItems.remove(block.getLocation().toVector());
-        }
+        removeCachedReference(block);
     }
 
     public void executeExtensions(@NotNull Location location, boolean isWorkstation, @Nullable Player player) {
@@ -345,4 +329,56 @@ public class Result extends RecipeItemStack {
         Bukkit.getScheduler().runTaskLater(CustomCrafting.inst(), () -> extensions.forEach(resultExtension -> resultExtension.onCraft(location, isWorkstation, player)), 2);
     }
 
+    /**
+     * Samples the choices of the result.<br>
+     * The sampler of all the choices is built right away. If some choices require a permission,
+     * then the samplers of the choices available to players are built and cached for each combination of missing permissions.
+     */
+    private static final class ChoiceSampler {
+
+        private final List<StackReference> choices;
+        private final String[] permissions;
+        private final WeightedSampler<StackReference> all;
+        private final Map<BitSet, WeightedSampler<StackReference>> byMissingPermissions = new ConcurrentHashMap<>();
+
+        private ChoiceSampler(List<StackReference> choices) {
+            this.choices = new ArrayList<>(choices);
+            String[] choicePermissions = null;
+            for (int i = 0; i < this.choices.size(); i++) {
+                String permission = this.choices.get(i).identifier().flatMap(StackIdentifier::permission).orElse(null);
+                if (permission != null) {
+                    if (choicePermissions == null) {
+                        choicePermissions = new String[this.choices.size()];
+                    }
+                    choicePermissions[i] = permission;
+                }
+            }
+            this.permissions = choicePermissions;
+            this.all = WeightedSampler.of(this.choices, StackReference::weight);
+        }
+
+        private WeightedSampler<StackReference> get(@Nullable Player player) {
+            if (player == null || permissions == null) return all;
+            BitSet missing = null;
+            for (int i = 0; i < permissions.length; i++) {
+                if (permissions[i] != null && !player.hasPermission(permissions[i])) {
+                    if (missing == null) {
+                        missing = new BitSet(permissions.length);
+                    }
+                    missing.set(i);
+                }
+            }
+            if (missing == null) return all;
+            return byMissingPermissions.computeIfAbsent(missing, key -> {
+                List<StackReference> available = new ArrayList<>();
+                for (int i = 0; i < choices.size(); i++) {
+                    if (!key.get(i)) {
+                        available.add(choices.get(i));
+                    }
+                }
+                return WeightedSampler.of(available, StackReference::weight);
+            });
+        }
+    }
+
 }
@@ -0,0 +1,265 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.registry;
+
+import com.wolfyscript.utilities.bukkit.world.items.reference.StackReference;
+import me.wolfyscript.customcrafting.recipes.AbstractRecipeShaped;
+import me.wolfyscript.customcrafting.recipes.AbstractRecipeShapeless;
+import me.wolfyscript.customcrafting.recipes.CraftingRecipe;
+import me.wolfyscript.customcrafting.recipes.items.Ingredient;
+import me.wolfyscript.customcrafting.utils.CraftManager;
+import me.wolfyscript.customcrafting.utils.StackReferenceUtils;
+import me.wolfyscript.utilities.util.NamespacedKey;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Candidate index for the {@link CraftingRecipe}s of a single crafting container.<br>
+ * <br>
+ * Each recipe is indexed by a cheap fingerprint of the matrices it could possibly match:
+ * <ul>
+ *     <li>The amount of non-air items in the matrix.</li>
+ *     <li>The multiset of the item materials, if every ingredient is bound to exactly one material.</li>
+ *     <li>Otherwise, the set of materials that any of its ingredients accept.</li>
+ * </ul>
+ * This allows the {@link CraftManager} to only run the full {@link CraftingRecipe#check(CraftManager.MatrixData)} on the few recipes that can actually match,
+ * instead of every registered recipe.<br>
+ * The candidates are always returned in the order of their priority.
+ */
+final class CraftingRecipeIndex {
+
+    private static final int MATERIAL_COUNT = Material.values().length;
+    private static final Comparator<Entry> ORDER = Comparator.comparing((Entry entry) -> entry.recipe().getPriority()).thenComparingLong(Entry::sequence);
+
+    private final Map<Integer, Bucket> buckets = new HashMap<>();
+    private final Map<NamespacedKey, Entry> entries = new HashMap<>();
+    /**
+     * Recipes of unknown implementation, that cannot be fingerprinted, and are therefore always a candidate.
+     */
+    private final List<Entry> wildcards = new ArrayList<>();
+    private long sequence = 0;
+
+    synchronized void add(CraftingRecipe<?, ?> recipe) {
+        remove(recipe.getNamespacedKey());
+        var entry = createEntry(recipe, sequence++);
+        entries.put(recipe.getNamespacedKey(), entry);
+        if (entry.minSize() < 0) {
+            wildcards.add(entry);
+            return;
+        }
+        for (int size = entry.minSize(); size <= entry.maxSize(); size++) {
+            buckets.computeIfAbsent(size, integer -> new Bucket()).add(entry);
+        }
+    }
+
+    synchronized void remove(NamespacedKey key) {
+        var entry = entries.remove(key);
+        if (entry == null) return;
+        if (entry.minSize() < 0) {
+            wildcards.remove(entry);
+            return;
+        }
+        for (int size = entry.minSize(); size <= entry.maxSize(); size++) {
+            var bucket = buckets.get(size);
+            if (bucket != null && bucket.remove(entry)) {
+                buckets.remove(size);
+            }
+        }
+    }
+
+    /**
+     * Collects the recipes that may match the specified matrix.
+     *
+     * @param matrixData The matrix to get the candidates for.
+     * @param candidates The list to add the candidates to, ordered by priority.
+     */
+    synchronized void collectCandidates(CraftManager.MatrixData matrixData, List<CraftingRecipe<?, ?>> candidates) {
+        final ItemStack[] items = matrixData.getItems();
+        final var bucket = buckets.get(items.length);
+        if (bucket == null && wildcards.isEmpty()) return;
+        final List<Entry> matches = new ArrayList<>();
+        if (bucket != null) {
+            final long[] materials = new long[(MATERIAL_COUNT + 63) >>> 6];
+            long multisetHash = 0;
+            for (ItemStack item : items) {
+                int ordinal = item.getType().ordinal();
+                materials[ordinal >>> 6] |= 1L << ordinal;
+                multisetHash += mix(ordinal);
+            }
+            var exactMatches = bucket.exact.get(multisetHash);
+            if (exactMatches != null) {
+                matches.addAll(exactMatches);
+            }
+            for (Entry entry : bucket.loose) {
+                if (entry.accepts(materials)) {
+                    matches.add(entry);
+                }
+            }
+        }
+        matches.addAll(wildcards);
+        matches.sort(ORDER);
+        for (Entry match : matches) {
+            candidates.add(match.recipe());
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static Entry createEntry(CraftingRecipe<?, ?> recipe, long sequence) {
+        final List<Ingredient> requiredIngredients = new ArrayList<>();
+        int minSize;
+        int maxSize;
+        if (recipe instanceof AbstractRecipeShaped<?, ?> shaped) {
+            final String flatShape = String.join("", shaped.getShape());
+            for (int i = 0; i < flatShape.length(); i++) {
+                if (flatShape.charAt(i) != ' ') {
+                    requiredIngredients.add(recipe.getIngredients().get(i));
+                }
+            }
+            minSize = requiredIngredients.size();
+            maxSize = minSize;
+        } else if (recipe instanceof AbstractRecipeShapeless<?, ?>) {
+            minSize = 0;
+            for (Ingredient ingredient : recipe.getIngredients()) {
+                requiredIngredients.add(ingredient);
+                if (!ingredient.isAllowEmpty()) {
+                    minSize++;
+                }
+            }
+            maxSize = requiredIngredients.size();
+        } else {
+            return new Entry(recipe, sequence, -1, -1, false, 0, null);
+        }
+
+        final long[] materials = new long[(MATERIAL_COUNT + 63) >>> 6];
+        boolean exact = minSize == maxSize;
+        long multisetHash = 0;
+        for (Ingredient ingredient : requiredIngredients) {
+            int singleMaterial = -1;
+            for (StackReference choice : ingredient.choices()) {
+                int ordinal = materialOf(choice);
+                if (ordinal < 0) {
+                    // The choice is not bound to a material (e.g. third-party items), so it may match any item.
+                    return new Entry(recipe, sequence, minSize, maxSize, false, 0, null);
+                }
+                materials[ordinal >>> 6] |= 1L << ordinal;
+                if (singleMaterial == -1 || singleMaterial == ordinal) {
+                    singleMaterial = ordinal;
+                } else {
+                    exact = false;
+                }
+            }
+            if (singleMaterial == -1) {
+                exact = false;
+            } else {
+                multisetHash += mix(singleMaterial);
+            }
+        }
+        if (exact) {
+            return new Entry(recipe, sequence, minSize, maxSize, true, multisetHash, null);
+        }
+        return new Entry(recipe, sequence, minSize, maxSize, false, 0, materials);
+    }
+
+    /**
+     * Gets the material ordinal the specified reference is bound to.<br>
+     * Only vanilla items are guaranteed to only match items of their own material.
+     *
+     * @param reference The reference to get the material for.
+     * @return The ordinal of the material; or -1 if the reference may match items of other materials.
+     */
+    private static int materialOf(StackReference reference) {
+        Material material = StackReferenceUtils.materialOf(reference);
+        return material == null ? -1 : material.ordinal();
+    }
+
+    /**
+     * Spreads the material ordinal over the whole long, so that the sum of multiple values is a usable multiset hash.
+     */
+    private static long mix(int ordinal) {
+        long value = (ordinal + 1) * 0x9E3779B97F4A7C15L;
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+
+    /**
+     * @param minSize       The minimum amount of items the matrix must contain; or -1 if the recipe is a wildcard.
+     * @param maxSize       The maximum amount of items the matrix may contain.
+     * @param exact         If the recipe is indexed by the multiset hash of its materials.
+     * @param multisetHash  The multiset hash of the materials; only used when exact.
+     * @param materials     The bitset of accepted materials; or null if the recipe is exact, or accepts any material.
+     */
+    private record Entry(CraftingRecipe<?, ?> recipe, long sequence, int minSize, int maxSize, boolean exact, long multisetHash, long[] materials) {
+
+        private boolean accepts(long[] matrixMaterials) {
+            if (materials == null) return true;
+            for (int i = 0; i < matrixMaterials.length; i++) {
+                if ((matrixMaterials[i] & ~materials[i]) != 0) return false;
+            }
+            return true;
+        }
+
+    }
+
+    private static final class Bucket {
+
+        private final Map<Long, List<Entry>> exact = new HashMap<>();
+        private final List<Entry> loose = new ArrayList<>();
+
+        private void add(Entry entry) {
+            if (entry.exact()) {
+                exact.computeIfAbsent(entry.multisetHash(), hash -> new ArrayList<>()).add(entry);
+            } else {
+                loose.add(entry);
+            }
+        }
+
+        /**
+         * @return True if the bucket is empty after the removal.
+         */
+        private boolean remove(Entry entry) {
+            if (entry.exact()) {
+                var list = exact.get(entry.multisetHash());
+                if (list != null) {
+                    list.remove(entry);
+                    if (list.isEmpty()) {
+                        exact.remove(entry.multisetHash());
+                    }
+                }
+            } else {
+                loose.remove(entry);
+            }
+            return exact.isEmpty() && loose.isEmpty();
+        }
+
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.registry;
+
+import com.wolfyscript.utilities.bukkit.world.items.reference.StackReference;
+import com.wolfyscript.utilities.bukkit.world.items.reference.WolfyUtilsStackIdentifier;
+import me.wolfyscript.customcrafting.utils.StackReferenceUtils;
+import me.wolfyscript.utilities.util.NamespacedKey;
+import me.wolfyscript.utilities.util.inventory.ItemUtils;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Identifies an item in the result and ingredient indexes of the {@link RegistryRecipes}.<br>
+ * Custom items are identified by their key, while all other items are identified by their material and the hash of their meta.
+ *
+ * @param customItem The key of the custom item; or null if it is not a custom item.
+ * @param material   The material of the item; or null if it is a custom item.
+ * @param metaHash   The hash of the item meta; or 0 if the item has no meta.
+ */
+record ItemKey(@Nullable NamespacedKey customItem, @Nullable Material material, int metaHash) {
+
+    /**
+     * @param reference The reference to get the key for.
+     * @return The key of the referenced item; or null if it references air or an unavailable item.
+     */
+    static @Nullable ItemKey of(@Nullable StackReference reference) {
+        if (reference == null) return null;
+        if (reference.identifier().orElse(null) instanceof WolfyUtilsStackIdentifier identifier) {
+            return new ItemKey(identifier.getNamespacedKey(), null, 0);
+        }
+        return of(reference.referencedStack());
+    }
+
+    /**
+     * @param itemStack The stack to get the key for.
+     * @return The key of the item; or null if the stack is air.
+     */
+    static @Nullable ItemKey of(@Nullable ItemStack itemStack) {
+        if (ItemUtils.isAirOrNull(itemStack)) return null;
+        return new ItemKey(null, itemStack.getType(), itemStack.hasItemMeta() ? itemStack.getItemMeta().hashCode() : 0);
+    }
+
+    /**
+     * @param reference The reference to get the material of.
+     * @return The material of the referenced item; or null if it may match items of any material, or references air or an unavailable item.
+     * @see StackReferenceUtils#materialOf(StackReference)
+     */
+    static @Nullable Material materialOf(@Nullable StackReference reference) {
+        return StackReferenceUtils.materialOf(reference);
+    }
+
+}
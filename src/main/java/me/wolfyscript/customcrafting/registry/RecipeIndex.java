@@ -0,0 +1,161 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.registry;
+
+import me.wolfyscript.customcrafting.recipes.CustomRecipe;
+import me.wolfyscript.utilities.util.NamespacedKey;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Secondary index of the {@link RegistryRecipes}, that maps a key (e.g. group, namespace, result, etc.) to the recipes that belong to it.<br>
+ * <br>
+ * Recipes are added and removed one by one, so the index never needs to be rebuilt from all recipes.<br>
+ * Each key keeps an immutable snapshot of its recipes, that is only recreated on the next lookup after the recipes of that key changed.<br>
+ * All methods are thread-safe, so recipes can be registered from multiple loader threads at the same time.
+ *
+ * @param <K> The type of the key.
+ */
+final class RecipeIndex<K> {
+
+    private final Map<K, Bucket> buckets = new ConcurrentHashMap<>();
+    // The order of the snapshots; or null to keep the order the recipes were added in.
+    private final Comparator<? super CustomRecipe<?>> order;
+    // The keys each recipe was added to. Makes sure the recipe is removed from all of them, even if the state of the recipe changed since.
+    private final Map<NamespacedKey, Collection<? extends K>> keysByRecipe = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an index, that keeps the recipes of each key in the order they were added in.
+     */
+    RecipeIndex() {
+        this(null);
+    }
+
+    /**
+     * Creates an index, that keeps the recipes of each key sorted by the specified order.<br>
+     * The sorting only happens when a snapshot is recreated, so lookups stay as cheap as for the unsorted index.
+     *
+     * @param order The order of the recipes of each key.
+     */
+    RecipeIndex(Comparator<? super CustomRecipe<?>> order) {
+        this.order = order;
+    }
+
+    /**
+     * Adds the recipe to the specified keys.<br>
+     * The recipe must be removed via {@link #remove(NamespacedKey)} before it is added again.
+     *
+     * @param recipeKey The key the recipe is registered under.
+     * @param recipe    The recipe to add.
+     * @param keys      The keys the recipe belongs to.
+     */
+    void add(NamespacedKey recipeKey, CustomRecipe<?> recipe, Collection<? extends K> keys) {
+        keysByRecipe.put(recipeKey, keys);
+        for (K key : keys) {
+            buckets.compute(key, (k, bucket) -> {
+                if (bucket == null) {
+                    bucket = new Bucket();
+                }
+                bucket.put(recipeKey, recipe);
+                return bucket;
+            });
+        }
+    }
+
+    /**
+     * Removes the recipe from all the keys it was added to.
+     *
+     * @param recipeKey The key of the recipe to remove.
+     */
+    void remove(NamespacedKey recipeKey) {
+        Collection<? extends K> keys = keysByRecipe.remove(recipeKey);
+        if (keys == null) return;
+        for (K key : keys) {
+            buckets.computeIfPresent(key, (k, bucket) -> bucket.remove(recipeKey) ? null : bucket);
+        }
+    }
+
+    /**
+     * @param key The key to get the recipes for.
+     * @return An immutable list of the recipes of the key; or an empty list if there are none.
+     */
+    List<CustomRecipe<?>> get(K key) {
+        Bucket bucket = buckets.get(key);
+        return bucket == null ? List.of() : bucket.snapshot();
+    }
+
+    /**
+     * @return A live view of the keys, that currently have at least one recipe.
+     */
+    Set<K> keys() {
+        return buckets.keySet();
+    }
+
+    private final class Bucket {
+
+        private final Map<NamespacedKey, CustomRecipe<?>> recipes = new LinkedHashMap<>();
+        private volatile List<CustomRecipe<?>> snapshot = null;
+
+        synchronized void put(NamespacedKey recipeKey, CustomRecipe<?> recipe) {
+            recipes.put(recipeKey, recipe);
+            snapshot = null;
+        }
+
+        /**
+         * @return true if the bucket is empty after the removal; false otherwise.
+         */
+        synchronized boolean remove(NamespacedKey recipeKey) {
+            if (recipes.remove(recipeKey) != null) {
+                snapshot = null;
+            }
+            return recipes.isEmpty();
+        }
+
+        List<CustomRecipe<?>> snapshot() {
+            List<CustomRecipe<?>> current = snapshot;
+            if (current == null) {
+                synchronized (this) {
+                    current = snapshot;
+                    if (current == null) {
+                        if (order == null) {
+                            current = List.copyOf(recipes.values());
+                        } else {
+                            List<CustomRecipe<?>> sorted = new ArrayList<>(recipes.values());
+                            sorted.sort(order);
+                            current = List.copyOf(sorted);
+                        }
+                        snapshot = current;
+                    }
+                }
+            }
+            return current;
+        }
+    }
+
+}
@@ -29,23 +29,30 @@ import com.wolfyscript.utilities.bukkit.world.items.reference.WolfyUtilsStackIde
 import me.wolfyscript.customcrafting.CustomCrafting;
 import me.wolfyscript.customcrafting.recipes.CraftingRecipe;
 import me.wolfyscript.customcrafting.recipes.CustomRecipe;
+import me.wolfyscript.customcrafting.recipes.CustomRecipeAnvil;
 import me.wolfyscript.customcrafting.recipes.ICustomVanillaRecipe;
 import me.wolfyscript.customcrafting.recipes.RecipeType;
 import me.wolfyscript.customcrafting.recipes.conditions.Conditions;
+import me.wolfyscript.customcrafting.recipes.items.Ingredient;
 import me.wolfyscript.customcrafting.recipes.settings.AdvancedRecipeSettings;
+import me.wolfyscript.customcrafting.utils.CraftManager;
 import me.wolfyscript.utilities.api.WolfyUtilCore;
 import me.wolfyscript.utilities.api.inventory.custom_items.CustomItem;
 import me.wolfyscript.utilities.registry.Registries;
 import me.wolfyscript.utilities.registry.RegistrySimple;
 import me.wolfyscript.utilities.util.NamespacedKey;
+import me.wolfyscript.utilities.util.inventory.ItemUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.Keyed;
+import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.Recipe;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -55,19 +62,41 @@ import java.util.stream.Stream;
  */
 public final class RegistryRecipes extends RegistrySimple<CustomRecipe<?>> {
 
+    private static final Comparator<CustomRecipe<?>> PRIORITY_ORDER = Comparator.comparing(CustomRecipe::getPriority);
+    private static final Map<Class<?>, Set<Class<?>>> CLASS_HIERARCHY = new ConcurrentHashMap<>();
+
     private final CustomCrafting customCrafting;
 
-    private final Map<String, List<CustomRecipe<?>>> BY_NAMESPACE = new HashMap<>();
-    private final Map<String, List<CustomRecipe<?>>> BY_GROUP = new HashMap<>();
-    private final Map<StackReference, List<CustomRecipe<?>>> BY_RESULT = new HashMap<>();
-    private final Map<Class<?>, List<CustomRecipe<?>>> BY_CLASS_TYPE = new HashMap<>();
-    private final Map<RecipeType<?>, List<CustomRecipe<?>>> BY_RECIPE_TYPE = new HashMap<>();
-    private final Map<RecipeType.Container<?>, List<CustomRecipe<?>>> BY_RECIPE_TYPE_CONTAINER = new HashMap<>();
-    private final Map<String, Map<String, List<CustomRecipe<?>>>> BY_NAMESPACE_AND_FOLDER = new HashMap<>();
-    private final Map<String, Map<String, List<CustomRecipe<?>>>> BY_NAMESPACE_AND_DIR = new HashMap<>();
-    private final Set<String> NAMESPACES = new HashSet<>();
-    private final Map<String, List<String>> FOLDERS = new HashMap<>();
-    private final Set<String> GROUPS = new HashSet<>();
+    // The indexes are updated for each registered/removed recipe, instead of rebuilding them from all recipes.
+    private final RecipeIndex<String> BY_NAMESPACE = new RecipeIndex<>();
+    private final RecipeIndex<String> BY_GROUP = new RecipeIndex<>();
+    private final RecipeIndex<ItemKey> BY_RESULT = new RecipeIndex<>();
+    private final RecipeIndex<MaterialKey> BY_RESULT_MATERIAL = new RecipeIndex<>();
+    private final RecipeIndex<ItemKey> BY_INGREDIENT = new RecipeIndex<>();
+    private final RecipeIndex<MaterialKey> BY_INGREDIENT_MATERIAL = new RecipeIndex<>();
+    private final RecipeIndex<Class<?>> BY_CLASS_TYPE = new RecipeIndex<>();
+    private final RecipeIndex<RecipeType<?>> BY_RECIPE_TYPE = new RecipeIndex<>();
+    private final RecipeIndex<RecipeType.Container<?>> BY_RECIPE_TYPE_CONTAINER = new RecipeIndex<>();
+    private final RecipeIndex<NamespaceDir> BY_NAMESPACE_AND_DIR = new RecipeIndex<>();
+    private final RecipeIndex<TypedMaterial> BY_TYPE_AND_INGREDIENT_MATERIAL = new RecipeIndex<>(PRIORITY_ORDER);
+    // The order in which the recipes were registered. Used to keep recipes of equal priority in that order when multiple buckets are merged.
+    private final Map<NamespacedKey, Long> REGISTRATION_SEQUENCE = new ConcurrentHashMap<>();
+    private final AtomicLong registrationSequence = new AtomicLong();
+    private final Comparator<CustomRecipe<?>> REGISTRATION_ORDER = PRIORITY_ORDER.thenComparingLong(recipe -> REGISTRATION_SEQUENCE.getOrDefault(recipe.getNamespacedKey(), Long.MAX_VALUE));
+    private final RecipeIndex<AnvilInputs> BY_ANVIL_INPUTS = new RecipeIndex<>(REGISTRATION_ORDER);
+    private final Map<String, List<String>> FOLDERS = new ConcurrentHashMap<>();
+    private final Map<RecipeType.Container<?>, CraftingRecipeIndex> CRAFTING_INDEX = Map.of(
+            RecipeType.Container.CRAFTING, new CraftingRecipeIndex(),
+            RecipeType.Container.ELITE_CRAFTING, new CraftingRecipeIndex()
+    );
+    // Immutable snapshots sorted by priority. These are rebuilt once on the next lookup after the registered recipes of that type changed.
+    private final Map<RecipeType<?>, List<? extends CustomRecipe<?>>> SORTED_BY_RECIPE_TYPE = new ConcurrentHashMap<>();
+    private final Map<RecipeType.Container<?>, List<? extends CustomRecipe<?>>> SORTED_BY_RECIPE_TYPE_CONTAINER = new ConcurrentHashMap<>();
+    // The snapshot of all recipes, together with the modification count it was built at, so a snapshot built concurrently to a change is never used as current.
+    private volatile SortedSnapshot sortedRecipes = null;
+    // Registering/removing the same key is serialized by one of these locks, while different keys can be registered in parallel.
+    private final Object[] KEY_LOCKS = Stream.generate(Object::new).limit(64).toArray();
+    private final AtomicLong modifications = new AtomicLong();
 
     RegistryRecipes(CustomCrafting customCrafting, Registries registries) {
         super(new NamespacedKey(customCrafting, "recipe/recipes"), registries);
@@ -79,42 +108,238 @@ public final class RegistryRecipes extends RegistrySimple<CustomRecipe<?>> {
     }
 
     public void remove(NamespacedKey namespacedKey) {
-        if (get(namespacedKey) instanceof ICustomVanillaRecipe) {
+        CustomRecipe<?> previous;
+        synchronized (lockOf(namespacedKey)) {
+            synchronized (this.map) {
+                previous = this.map.remove(namespacedKey);
+            }
+            unindex(namespacedKey);
+        }
+        if (previous instanceof ICustomVanillaRecipe) {
             removeBukkitRecipe(namespacedKey);
         }
-        this.map.remove(namespacedKey);
-        clearCache(namespacedKey);
+        if (previous != null) {
+            modifications.incrementAndGet();
+            clearSortedCache(previous);
+        }
     }
 
     /**
-     * Clears the cache, so it can update with the added/removed value.<br>
-     * <br>
-     * This is needed as the cache needs to be updated with the possible new values.<br>
-     * Of course, you could check if the specific caches must be cleared, but that would be at the cost of register/remove performance.<br>
-     * (Most servers have a fixed set of recipes that they use and don't frequently change in production... well at least they shouldn't)
+     * The modification count is increased each time a recipe is registered or removed.<br>
+     * It can be used to invalidate caches, that depend on the registered recipes.
+     *
+     * @return The current modification count of this registry.
+     */
+    public long getModificationCount() {
+        return modifications.get();
+    }
+
+    private Object lockOf(NamespacedKey key) {
+        return KEY_LOCKS[Math.floorMod(key.hashCode(), KEY_LOCKS.length)];
+    }
+
+    /**
+     * Adds the recipe to all the secondary indexes.<br>
+     * Only the entries the recipe belongs to are updated, so all the other entries stay valid.
+     *
+     * @param key    The key the recipe is registered under.
+     * @param recipe The recipe to add.
+     */
+    private void index(NamespacedKey key, CustomRecipe<?> recipe) {
+        REGISTRATION_SEQUENCE.put(key, registrationSequence.getAndIncrement());
+        BY_NAMESPACE.add(key, recipe, List.of(key.getNamespace()));
+        BY_NAMESPACE_AND_DIR.add(key, recipe, List.of(new NamespaceDir(key.getNamespace(), dirOf(key))));
+        BY_GROUP.add(key, recipe, List.of(Objects.requireNonNullElse(recipe.getGroup(), "")));
+        List<StackReference> results = recipe.getResult().choices();
+        BY_RESULT.add(key, recipe, itemKeysOf(results));
+        BY_RESULT_MATERIAL.add(key, recipe, materialsOf(results));
+        List<StackReference> ingredients = recipe.getRecipeIngredients().stream().filter(Objects::nonNull).flatMap(ingredient -> ingredient.choices().stream()).toList();
+        BY_INGREDIENT.add(key, recipe, itemKeysOf(ingredients));
+        BY_INGREDIENT_MATERIAL.add(key, recipe, materialsOf(ingredients));
+        BY_CLASS_TYPE.add(key, recipe, CLASS_HIERARCHY.computeIfAbsent(recipe.getClass(), RegistryRecipes::collectHierarchy));
+        List<RecipeType<?>> types = RecipeType.values().stream().filter(type -> type.isInstance(recipe)).toList();
+        BY_RECIPE_TYPE.add(key, recipe, types);
+        BY_TYPE_AND_INGREDIENT_MATERIAL.add(key, recipe, typedMaterialsOf(types, ingredients));
+        BY_RECIPE_TYPE_CONTAINER.add(key, recipe, RecipeType.Container.values().stream().filter(container -> container.isInstance(recipe)).toList());
+        if (recipe instanceof CraftingRecipe<?, ?> craftingRecipe) {
+            var index = CRAFTING_INDEX.get(recipe.getRecipeType().getContainer());
+            if (index != null) {
+                index.add(craftingRecipe);
+            }
+        }
+        if (recipe instanceof CustomRecipeAnvil anvilRecipe) {
+            BY_ANVIL_INPUTS.add(key, recipe, anvilInputsOf(anvilRecipe));
+        }
+        FOLDERS.remove(key.getNamespace());
+    }
+
+    /**
+     * Removes the recipe from all the secondary indexes it was added to.
      *
-     * @param key The key of the recipe that caused the reset.
+     * @param key The key of the recipe to remove.
      */
-    private void clearCache(NamespacedKey key) {
-        BY_NAMESPACE.remove(key.getNamespace());
-        BY_GROUP.clear();
-        NAMESPACES.clear();
+    private void unindex(NamespacedKey key) {
+        BY_NAMESPACE.remove(key);
+        BY_NAMESPACE_AND_DIR.remove(key);
+        BY_GROUP.remove(key);
+        BY_RESULT.remove(key);
+        BY_RESULT_MATERIAL.remove(key);
+        BY_INGREDIENT.remove(key);
+        BY_INGREDIENT_MATERIAL.remove(key);
+        BY_TYPE_AND_INGREDIENT_MATERIAL.remove(key);
+        BY_ANVIL_INPUTS.remove(key);
+        REGISTRATION_SEQUENCE.remove(key);
+        BY_CLASS_TYPE.remove(key);
+        BY_RECIPE_TYPE.remove(key);
+        BY_RECIPE_TYPE_CONTAINER.remove(key);
+        CRAFTING_INDEX.values().forEach(index -> index.remove(key));
         FOLDERS.remove(key.getNamespace());
-        GROUPS.clear();
-        BY_RESULT.clear();
-        BY_CLASS_TYPE.clear();
-        BY_RECIPE_TYPE.clear();
-        BY_RECIPE_TYPE_CONTAINER.clear();
-        BY_NAMESPACE_AND_FOLDER.remove(key.getNamespace());
-        BY_NAMESPACE_AND_DIR.remove(key.getNamespace());
+    }
+
+    private static Set<ItemKey> itemKeysOf(Collection<StackReference> references) {
+        return references.stream().map(reference -> ItemKey.of(reference)).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    /**
+     * Gets the materials of the references.<br>
+     * References that are not bound to a material (e.g. custom items, whose material may be edited) or could not be resolved at the time of registration
+     * are added under the wildcard key, so the recipe is still found by every lookup.
+     */
+    private static Set<MaterialKey> materialsOf(Collection<StackReference> references) {
+        Set<MaterialKey> keys = new HashSet<>();
+        for (StackReference reference : references) {
+            if (reference == null) continue;
+            Material material = ItemKey.materialOf(reference);
+            keys.add(material == null ? MaterialKey.WILDCARD : new MaterialKey(material));
+        }
+        return keys;
+    }
+
+    /**
+     * Gets the recipes of the material, including the recipes of the wildcard key.
+     */
+    private static List<CustomRecipe<?>> getByMaterial(RecipeIndex<MaterialKey> index, Material material) {
+        List<CustomRecipe<?>> wildcard = index.get(MaterialKey.WILDCARD);
+        List<CustomRecipe<?>> recipes = index.get(new MaterialKey(material));
+        if (wildcard.isEmpty()) return recipes;
+        if (recipes.isEmpty()) return wildcard;
+        Set<CustomRecipe<?>> merged = new LinkedHashSet<>(recipes);
+        merged.addAll(wildcard);
+        return List.copyOf(merged);
+    }
+
+    /**
+     * Combines each of the types with each material of the ingredient references.<br>
+     * If any of the references is not bound to a material (e.g. custom items, or items of plugins that are not loaded yet),
+     * the recipe is only added under the wildcard key of the types, so it is checked on every lookup, but never listed twice.
+     */
+    private static Set<TypedMaterial> typedMaterialsOf(Collection<RecipeType<?>> types, Collection<StackReference> references) {
+        Set<Material> materials = new HashSet<>();
+        for (StackReference reference : references) {
+            Material material = ItemKey.materialOf(reference);
+            if (material == null) {
+                return types.stream().map(type -> new TypedMaterial(type, null)).collect(Collectors.toSet());
+            }
+            materials.add(material);
+        }
+        Set<TypedMaterial> keys = new HashSet<>();
+        for (RecipeType<?> type : types) {
+            for (Material material : materials) {
+                keys.add(new TypedMaterial(type, material));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Combines each material of the left input with each material of the right input of the anvil recipe.
+     *
+     * @param recipe The anvil recipe.
+     * @return The keys of the anvil recipe.
+     */
+    private static List<AnvilInputs> anvilInputsOf(CustomRecipeAnvil recipe) {
+        List<Material> left = inputMaterialsOf(recipe.hasInputLeft() ? recipe.getInputLeft() : null);
+        List<Material> right = inputMaterialsOf(recipe.hasInputRight() ? recipe.getInputRight() : null);
+        List<AnvilInputs> keys = new ArrayList<>(left.size() * right.size());
+        for (Material leftMaterial : left) {
+            for (Material rightMaterial : right) {
+                keys.add(new AnvilInputs(leftMaterial, rightMaterial));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Gets the materials of the input, or only the wildcard (null) if the input is missing, may be empty, or any of its references is not bound to a material.
+     *
+     * @param input The input ingredient; or null if the recipe has none.
+     * @return The materials of the input; or a list only containing null for the wildcard.
+     */
+    private static List<Material> inputMaterialsOf(@Nullable Ingredient input) {
+        if (input == null || input.isAllowEmpty()) return Collections.singletonList(null);
+        Set<Material> materials = new HashSet<>();
+        for (StackReference reference : input.choices()) {
+            Material material = ItemKey.materialOf(reference);
+            if (material == null) return Collections.singletonList(null);
+            materials.add(material);
+        }
+        return List.copyOf(materials);
+    }
+
+    private static Set<Class<?>> collectHierarchy(Class<?> type) {
+        Set<Class<?>> types = new HashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(type);
+        while (!pending.isEmpty()) {
+            Class<?> current = pending.poll();
+            if (types.add(current)) {
+                if (current.getSuperclass() != null) {
+                    pending.add(current.getSuperclass());
+                }
+                pending.addAll(Arrays.asList(current.getInterfaces()));
+            }
+        }
+        return Set.copyOf(types);
+    }
+
+    private static String dirOf(NamespacedKey namespacedKey) {
+        String key = namespacedKey.getKey();
+        return "/" + (key.contains("/") ? key.substring(0, key.lastIndexOf("/") + 1) : "");
+    }
+
+    /**
+     * Discards the sorted snapshots that include the type of the specified recipe.<br>
+     * The snapshots are then rebuilt on the next lookup, so registering a lot of recipes at once only causes a single rebuild.
+     *
+     * @param recipe The recipe that was added/removed.
+     */
+    private void clearSortedCache(CustomRecipe<?> recipe) {
+        RecipeType<?> type = recipe.getRecipeType();
+        if (type == null) return;
+        SORTED_BY_RECIPE_TYPE.remove(type);
+        if (type.getContainer() != null) {
+            SORTED_BY_RECIPE_TYPE_CONTAINER.remove(type.getContainer());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends CustomRecipe<?>> List<T> sortedSnapshot(Collection<? extends T> recipes) {
+        CustomRecipe<?>[] array = recipes.toArray(new CustomRecipe<?>[0]);
+        Arrays.sort(array, PRIORITY_ORDER); // Stable sort, so recipes of the same priority keep their order
+        return (List<T>) (List<?>) List.of(array);
     }
 
     @Override
-    public synchronized void register(NamespacedKey namespacedKey, CustomRecipe<?> value) {
+    public void register(NamespacedKey namespacedKey, CustomRecipe<?> value) {
         Preconditions.checkArgument(namespacedKey != null, "Invalid NamespacedKey! The namespaced key cannot be null!");
         Preconditions.checkArgument(!namespacedKey.getNamespace().equalsIgnoreCase("minecraft"), "Invalid NamespacedKey! Cannot register recipe under minecraft namespace!");
-        remove(namespacedKey);
-        super.register(namespacedKey, value);
+        synchronized (lockOf(namespacedKey)) {
+            remove(namespacedKey);
+            synchronized (this.map) {
+                super.register(namespacedKey, value);
+            }
+            index(namespacedKey, value);
+        }
         if (value instanceof ICustomVanillaRecipe<?> vanillaRecipe && !value.isDisabled()) {
             Bukkit.getScheduler().runTask(customCrafting, () -> {
                 try {
@@ -134,7 +359,8 @@ public final class RegistryRecipes extends RegistrySimple<CustomRecipe<?>> {
                 }
             });
         }
-        clearCache(namespacedKey);
+        modifications.incrementAndGet();
+        clearSortedCache(value);
     }
 
     @Override
@@ -146,10 +372,7 @@ public final class RegistryRecipes extends RegistrySimple<CustomRecipe<?>> {
      * @return A list of all available namespaces.
      */
     public List<String> namespaces() {
-        if (NAMESPACES.isEmpty()) {
-            NAMESPACES.addAll(keySet().stream().map(NamespacedKey::getNamespace).distinct().toList());
-        }
-        return new ArrayList<>(NAMESPACES);
+        return new ArrayList<>(BY_NAMESPACE.keys());
     }
 
     /**
@@ -333,10 +556,7 @@ public final class RegistryRecipes extends RegistrySimple<CustomRecipe<?>> {
      * @return A list of all available groups.
      */
     public List<String> groups() {
-        if (GROUPS.isEmpty()) {
-            GROUPS.addAll(values().stream().map(CustomRecipe::getGroup).filter(group -> !group.isEmpty()).distinct().toList());
-        }
-        return new ArrayList<>(GROUPS);
+        return BY_GROUP.keys().stream().filter(group -> !group.isEmpty()).collect(Collectors.toCollection(ArrayList::new));
     }
 
     /**
@@ -346,7 +566,7 @@ public final class RegistryRecipes extends RegistrySimple<CustomRecipe<?>> {
      * @return The recipes contained in the group.
      */
     public List<CustomRecipe<?>> getGroup(String group) {
-        return BY_GROUP.computeIfAbsent(group, s -> values().stream().filter(r -> r.getGroup().equals(s)).collect(Collectors.toList()));
+        return BY_GROUP.get(group);
     }
 
     /**
@@ -357,16 +577,7 @@ public final class RegistryRecipes extends RegistrySimple<CustomRecipe<?>> {
      * @return A list of all recipes in the folder inside the namespace.
      */
     public List<CustomRecipe<?>> getFromDir(String namespace, String dir) {
-        dir = cleanDir(dir);
-        return BY_NAMESPACE_AND_DIR.computeIfAbsent(namespace, s -> {
-            Map<String, List<CustomRecipe<?>>> folderIndex = new HashMap<>();
-            get(s).forEach(recipe -> {
-                String key = recipe.getNamespacedKey().getKey();
-                String recipeFolder = "/" + (key.contains("/") ? key.substring(0, key.lastIndexOf("/") + 1) : "");
-                folderIndex.computeIfAbsent(recipeFolder, s1 -> new LinkedList<>()).add(recipe);
-            });
-            return folderIndex;
-        }).getOrDefault(dir, new LinkedList<>());
+        return BY_NAMESPACE_AND_DIR.get(new NamespaceDir(namespace, cleanDir(dir)));
     }
 
     private String cleanDir(String dir) {
@@ -392,22 +603,146 @@ public final class RegistryRecipes extends RegistrySimple<CustomRecipe<?>> {
      * @return The recipes contained in the namespace.
      */
     public List<CustomRecipe<?>> get(String namespace) {
-        return BY_NAMESPACE.computeIfAbsent(namespace, s -> entrySet().stream().filter(entry -> entry.getKey().getNamespace().equalsIgnoreCase(s)).map(Map.Entry::getValue).collect(Collectors.toList()));
+        List<CustomRecipe<?>> recipes = BY_NAMESPACE.get(namespace);
+        if (recipes.isEmpty()) {
+            // Namespaces are usually lowercase, but the lookup was always case-insensitive.
+            return BY_NAMESPACE.keys().stream().filter(namespace::equalsIgnoreCase).findFirst().map(BY_NAMESPACE::get).orElse(recipes);
+        }
+        return recipes;
     }
 
     public List<CustomRecipe<?>> get(CustomItem result) {
-        return BY_RESULT.computeIfAbsent(
-                result.hasNamespacedKey() ? new StackReference(WolfyUtilCore.getInstance(), new WolfyUtilsStackIdentifier(result.getNamespacedKey()), result.getWeight(), result.getAmount(), result.getItemStack()) : result.stackReference(),
-                item -> values().stream().filter(recipe -> recipe.getResult().choices().contains(item)).collect(Collectors.toList()));
+        return get(result.hasNamespacedKey() ? new StackReference(WolfyUtilCore.getInstance(), new WolfyUtilsStackIdentifier(result.getNamespacedKey()), result.getWeight(), result.getAmount(), result.getItemStack()) : result.stackReference());
     }
 
+    /**
+     * Gets all the recipes, that have the referenced item as one of their results.<br>
+     * Custom items are matched by their key, other items by their type and meta.
+     *
+     * @param reference The reference of the result item.
+     * @return An immutable list of the recipes that produce the item.
+     */
     public List<CustomRecipe<?>> get(StackReference reference) {
-        return BY_RESULT.computeIfAbsent(reference, reference1 -> values().stream().filter(recipe -> recipe.getResult().choices().contains(reference1)).collect(Collectors.toList()));
+        ItemKey itemKey = ItemKey.of(reference);
+        return itemKey == null ? List.of() : BY_RESULT.get(itemKey);
+    }
+
+    /**
+     * Gets all the recipes, that use the referenced item in one of their ingredients.<br>
+     * Custom items are matched by their key, other items by their type and meta.
+     *
+     * @param reference The reference of the ingredient item.
+     * @return An immutable list of the recipes that use the item.
+     */
+    public List<CustomRecipe<?>> getUsages(StackReference reference) {
+        ItemKey itemKey = ItemKey.of(reference);
+        return itemKey == null ? List.of() : BY_INGREDIENT.get(itemKey);
+    }
+
+    /**
+     * Gets all the recipes, that have an ingredient that accepts the specified ItemStack.<br>
+     * Only the recipes that have an ingredient of the same type, or an ingredient that could not be resolved on registration, are checked.
+     *
+     * @param itemStack The ItemStack to look for.
+     * @return A list of the recipes that use the item.
+     */
+    public List<CustomRecipe<?>> getUsages(ItemStack itemStack) {
+        if (ItemUtils.isAirOrNull(itemStack)) return List.of();
+        return getByMaterial(BY_INGREDIENT_MATERIAL, itemStack.getType()).stream()
+                .filter(recipe -> recipe.getRecipeIngredients().stream().filter(Objects::nonNull).anyMatch(ingredient -> ingredient.choicesFor(itemStack).stream().anyMatch(reference -> reference.matches(itemStack))))
+                .toList();
+    }
+
+    /**
+     * Gets the candidate recipes of the specified type, that have an ingredient of the same material as the specified ItemStack.<br>
+     * Recipes with ingredients that could not be resolved on registration are always included.<br>
+     * The candidates are sorted by their {@link me.wolfyscript.customcrafting.recipes.RecipePriority}, so the lookup costs only as much as the number of candidates,
+     * instead of the number of all the recipes of that type.<br>
+     * <br>
+     * The ingredients of the candidates still need to be checked against the ItemStack!
+     *
+     * @param type      The type of the recipes.
+     * @param itemStack The ItemStack used as an ingredient.
+     * @param <T>       The type passed via the {@link RecipeType}
+     * @return An immutable list of the candidate recipes sorted by priority.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends CustomRecipe<?>> List<T> getByIngredient(RecipeType<T> type, ItemStack itemStack) {
+        List<CustomRecipe<?>> unresolved = BY_TYPE_AND_INGREDIENT_MATERIAL.get(new TypedMaterial(type, null));
+        if (ItemUtils.isAirOrNull(itemStack)) return (List<T>) unresolved;
+        List<CustomRecipe<?>> candidates = BY_TYPE_AND_INGREDIENT_MATERIAL.get(new TypedMaterial(type, itemStack.getType()));
+        if (unresolved.isEmpty()) return (List<T>) candidates;
+        if (candidates.isEmpty()) return (List<T>) unresolved;
+        // Both lists are already sorted, so they only need to be merged
+        CustomRecipe<?>[] merged = new CustomRecipe<?>[candidates.size() + unresolved.size()];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < candidates.size() && j < unresolved.size()) {
+            merged[k++] = PRIORITY_ORDER.compare(unresolved.get(j), candidates.get(i)) < 0 ? unresolved.get(j++) : candidates.get(i++);
+        }
+        while (i < candidates.size()) merged[k++] = candidates.get(i++);
+        while (j < unresolved.size()) merged[k++] = unresolved.get(j++);
+        return (List<T>) (List<?>) List.of(merged);
+    }
+
+    /**
+     * Gets the anvil recipes, that may match the specified inputs.<br>
+     * The candidates are looked up by the materials of both inputs. Recipes without an input, or inputs that may be empty or could not be resolved on registration,
+     * are stored under a wildcard for that input, so they are always included for it.<br>
+     * <br>
+     * The inputs and conditions of the candidates still need to be checked!
+     *
+     * @param inputLeft  The item in the left slot of the anvil.
+     * @param inputRight The item in the right slot of the anvil.
+     * @return The candidate recipes sorted by their {@link me.wolfyscript.customcrafting.recipes.RecipePriority}, and recipes of equal priority in the order they were registered.
+     */
+    @SuppressWarnings("unchecked")
+    public List<CustomRecipeAnvil> getAnvilCandidates(@Nullable ItemStack inputLeft, @Nullable ItemStack inputRight) {
+        Material left = ItemUtils.isAirOrNull(inputLeft) ? null : inputLeft.getType();
+        Material right = ItemUtils.isAirOrNull(inputRight) ? null : inputRight.getType();
+        List<List<CustomRecipe<?>>> buckets = new ArrayList<>(4);
+        addIfNotEmpty(buckets, BY_ANVIL_INPUTS.get(new AnvilInputs(null, null)));
+        if (left != null) {
+            addIfNotEmpty(buckets, BY_ANVIL_INPUTS.get(new AnvilInputs(left, null)));
+        }
+        if (right != null) {
+            addIfNotEmpty(buckets, BY_ANVIL_INPUTS.get(new AnvilInputs(null, right)));
+        }
+        if (left != null && right != null) {
+            addIfNotEmpty(buckets, BY_ANVIL_INPUTS.get(new AnvilInputs(left, right)));
+        }
+        if (buckets.isEmpty()) return List.of();
+        if (buckets.size() == 1) return (List<CustomRecipeAnvil>) (List<?>) buckets.get(0);
+        // Each recipe is in one bucket at most per lookup, and each bucket is already sorted, so they only need to be merged
+        int total = 0;
+        for (List<CustomRecipe<?>> bucket : buckets) {
+            total += bucket.size();
+        }
+        CustomRecipe<?>[] merged = new CustomRecipe<?>[total];
+        int[] positions = new int[buckets.size()];
+        for (int k = 0; k < total; k++) {
+            int next = -1;
+            for (int i = 0; i < buckets.size(); i++) {
+                if (positions[i] >= buckets.get(i).size()) continue;
+                if (next == -1 || REGISTRATION_ORDER.compare(buckets.get(i).get(positions[i]), buckets.get(next).get(positions[next])) < 0) {
+                    next = i;
+                }
+            }
+            merged[k] = buckets.get(next).get(positions[next]++);
+        }
+        return (List<CustomRecipeAnvil>) (List<?>) List.of(merged);
+    }
+
+    private static void addIfNotEmpty(List<List<CustomRecipe<?>>> buckets, List<CustomRecipe<?>> bucket) {
+        if (!bucket.isEmpty()) {
+            buckets.add(bucket);
+        }
     }
 
     @SuppressWarnings("unchecked")
     public <T extends CustomRecipe<?>> List<T> get(Class<T> type) {
-        return (List<T>) BY_CLASS_TYPE.computeIfAbsent(type, aClass -> values().stream().filter(aClass::isInstance).map(recipe -> ((Class<T>) aClass).cast(recipe)).collect(Collectors.toList()));
+        return (List<T>) BY_CLASS_TYPE.get(type);
     }
 
     /**
@@ -417,7 +752,7 @@ public final class RegistryRecipes extends RegistrySimple<CustomRecipe<?>> {
      */
     @SuppressWarnings("unchecked")
     public <T extends CustomRecipe<?>> List<T> get(RecipeType<T> type) {
-        return (List<T>) BY_RECIPE_TYPE.computeIfAbsent(type, recipeType -> values().stream().filter(recipeType::isInstance).map(recipeType::cast).collect(Collectors.toList()));
+        return (List<T>) BY_RECIPE_TYPE.get(type);
     }
 
     /**
@@ -427,7 +762,50 @@ public final class RegistryRecipes extends RegistrySimple<CustomRecipe<?>> {
      */
     @SuppressWarnings("unchecked")
     public <T extends CustomRecipe<?>> List<T> get(RecipeType.Container<T> type) {
-        return (List<T>) BY_RECIPE_TYPE_CONTAINER.computeIfAbsent(type, container -> values().stream().filter(container::isInstance).map(container::cast).collect(Collectors.toList()));
+        return (List<T>) BY_RECIPE_TYPE_CONTAINER.get(type);
+    }
+
+    /**
+     * Gets an immutable snapshot of all recipes sorted by their {@link me.wolfyscript.customcrafting.recipes.RecipePriority}.<br>
+     * The snapshot is only rebuilt after recipes are registered or removed, so it can be iterated directly in frequently called event handlers.
+     *
+     * @return An immutable list of all recipes sorted by priority.
+     */
+    public List<CustomRecipe<?>> getSorted() {
+        SortedSnapshot snapshot = sortedRecipes;
+        // The count is read before the recipes, and only increased after a change is applied, so a snapshot is at most tagged with an outdated count.
+        long modificationCount = modifications.get();
+        if (snapshot == null || snapshot.modificationCount() != modificationCount) {
+            snapshot = new SortedSnapshot(modificationCount, sortedSnapshot(values()));
+            sortedRecipes = snapshot;
+        }
+        return snapshot.recipes();
+    }
+
+    /**
+     * Same as {@link #get(RecipeType)}, but the recipes are sorted by their {@link me.wolfyscript.customcrafting.recipes.RecipePriority}.<br>
+     * The snapshot is only rebuilt after recipes of that type are registered or removed, so it can be iterated directly in frequently called event handlers.
+     *
+     * @param type The type of the recipe.
+     * @param <T>  The type passed via the {@link RecipeType}
+     * @return An immutable list of the {@link CustomRecipe}s of the specified {@link RecipeType}, sorted by priority.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends CustomRecipe<?>> List<T> getSorted(RecipeType<T> type) {
+        return (List<T>) SORTED_BY_RECIPE_TYPE.computeIfAbsent(type, recipeType -> sortedSnapshot(get(type)));
+    }
+
+    /**
+     * Same as {@link #get(RecipeType.Container)}, but the recipes are sorted by their {@link me.wolfyscript.customcrafting.recipes.RecipePriority}.<br>
+     * The snapshot is only rebuilt after recipes of that container are registered or removed, so it can be iterated directly in frequently called event handlers.
+     *
+     * @param type The container of the recipe types.
+     * @param <T>  The type passed via the {@link RecipeType.Container}
+     * @return An immutable list of the {@link CustomRecipe}s of the specified {@link RecipeType.Container}, sorted by priority.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends CustomRecipe<?>> List<T> getSorted(RecipeType.Container<T> type) {
+        return (List<T>) SORTED_BY_RECIPE_TYPE_CONTAINER.computeIfAbsent(type, container -> sortedSnapshot(get(type)));
     }
 
     @SafeVarargs
@@ -435,6 +813,30 @@ public final class RegistryRecipes extends RegistrySimple<CustomRecipe<?>> {
         return Arrays.stream(types).filter(Objects::nonNull).flatMap(container -> get(container).stream());
     }
 
+    /**
+     * Gets the crafting recipes of the specified containers, that may match the specified matrix.<br>
+     * The candidates are looked up using a precomputed index of the recipes, so only recipes with fitting ingredient count and materials are included.<br>
+     * They still need to be checked using {@link CraftingRecipe#check(CraftManager.MatrixData)}.
+     *
+     * @param matrixData The matrix to get the candidates for.
+     * @param types      The crafting containers to include.
+     * @return The candidate recipes sorted by their {@link me.wolfyscript.customcrafting.recipes.RecipePriority}.
+     */
+    public List<CraftingRecipe<?, ?>> getCraftingCandidates(CraftManager.MatrixData matrixData, RecipeType.Container.CraftingContainer<?>... types) {
+        List<CraftingRecipe<?, ?>> candidates = new ArrayList<>();
+        for (RecipeType.Container.CraftingContainer<?> type : types) {
+            if (type == null) continue;
+            var index = CRAFTING_INDEX.get(type);
+            if (index != null) {
+                index.collectCandidates(matrixData, candidates);
+            }
+        }
+        if (types.length > 1) {
+            candidates.sort(Comparator.comparing(CraftingRecipe::getPriority)); // Stable, so the order of the containers is kept for the same priorities.
+        }
+        return candidates;
+    }
+
     public CraftingRecipe<?, AdvancedRecipeSettings> getAdvancedCrafting(NamespacedKey recipeKey) {
         CustomRecipe<?> customRecipe = get(recipeKey);
         return RecipeType.Container.CRAFTING.isInstance(customRecipe) ? RecipeType.Container.CRAFTING.cast(customRecipe) : null;
@@ -458,7 +860,7 @@ public final class RegistryRecipes extends RegistrySimple<CustomRecipe<?>> {
      * @return The recipes that are available and are not hidden or disabled.
      */
     public List<CustomRecipe<?>> getAvailable() {
-        return filterAvailable(values().stream()).sorted().toList();
+        return filterAvailable(getSorted().stream()).toList();
     }
 
     /**
@@ -481,7 +883,7 @@ public final class RegistryRecipes extends RegistrySimple<CustomRecipe<?>> {
      * @return A list only including the {@link CustomRecipe}s of the specified {@link RecipeType}, which are enabled and visible.
      */
     public <T extends CustomRecipe<?>> List<T> getAvailable(RecipeType<T> type) {
-        return filterAvailable(get(type.getRecipeClass()).stream()).sorted().toList();
+        return filterAvailable(getSorted(type).stream()).toList();
     }
 
     /**
@@ -506,7 +908,11 @@ public final class RegistryRecipes extends RegistrySimple<CustomRecipe<?>> {
      */
     @Deprecated
     public List<CustomRecipe<?>> getAvailable(ItemStack result, Player player) {
-        return getAvailable(player).stream().filter(recipe -> recipe.findResultItem(result)).collect(Collectors.toList());
+        if (ItemUtils.isAirOrNull(result)) return new ArrayList<>();
+        List<CustomRecipe<?>> candidates = new ArrayList<>(getByMaterial(BY_RESULT_MATERIAL, result.getType()));
+        // Brewing recipes without a result modify the input potions, so these must always be checked.
+        candidates.addAll(get(RecipeType.BREWING_STAND));
+        return getAvailable(candidates.stream().distinct().toList(), player).stream().filter(recipe -> recipe.findResultItem(result)).collect(Collectors.toList());
     }
 
     @Deprecated
@@ -522,4 +928,38 @@ public final class RegistryRecipes extends RegistrySimple<CustomRecipe<?>> {
         Bukkit.removeRecipe(ICustomVanillaRecipe.toPlaceholder(namespacedKey).bukkit());
         Bukkit.removeRecipe(ICustomVanillaRecipe.toDisplayKey(namespacedKey).bukkit());
     }
+
+    private record NamespaceDir(String namespace, String dir) {
+    }
+
+    /**
+     * @param type     The type of the recipe.
+     * @param material The material of one of the ingredients; or null for ingredients that could not be resolved.
+     */
+    private record TypedMaterial(RecipeType<?> type, @Nullable Material material) {
+    }
+
+    /**
+     * @param material The material of the item; or null for items that are not bound to a material, or could not be resolved.
+     */
+    private record MaterialKey(@Nullable Material material) {
+
+        private static final MaterialKey WILDCARD = new MaterialKey(null);
+    }
+
+    /**
+     * @param left  The material of the left input; or null for the wildcard.
+     * @param right The material of the right input; or null for the wildcard.
+     */
+    private record AnvilInputs(@Nullable Material left, @Nullable Material right) {
+    }
+
+    /**
+     * The sorted snapshot of all recipes.
+     *
+     * @param modificationCount The modification count of the registry, that was read before the snapshot was built.
+     * @param recipes           The recipes sorted by priority.
+     */
+    private record SortedSnapshot(long modificationCount, List<CustomRecipe<?>> recipes) {
+    }
 }
@@ -22,10 +22,11 @@
 
 package me.wolfyscript.customcrafting.utils;
 
-import com.google.common.base.Functions;
 import com.wolfyscript.utilities.bukkit.nms.inventory.NMSInventoryUtils;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -36,12 +37,13 @@ import me.wolfyscript.customcrafting.data.CCPlayerData;
 import me.wolfyscript.customcrafting.listeners.customevents.CustomPreCraftEvent;
 import me.wolfyscript.customcrafting.recipes.CraftingRecipe;
 import me.wolfyscript.customcrafting.recipes.RecipeType;
+import me.wolfyscript.customcrafting.recipes.conditions.Condition;
 import me.wolfyscript.customcrafting.recipes.conditions.Conditions;
 import me.wolfyscript.customcrafting.recipes.conditions.CraftDelayCondition;
 import me.wolfyscript.customcrafting.recipes.data.CraftingData;
 import me.wolfyscript.customcrafting.recipes.items.Result;
 import me.wolfyscript.utilities.api.inventory.custom_items.CustomItem;
-import me.wolfyscript.utilities.util.RandomCollection;
+import me.wolfyscript.utilities.util.NamespacedKey;
 import me.wolfyscript.utilities.util.inventory.InventoryUtils;
 import me.wolfyscript.utilities.util.inventory.ItemUtils;
 import me.wolfyscript.utilities.util.version.ServerVersion;
@@ -59,6 +61,7 @@ public final class CraftManager {
     private long lastLockDownWarning = 0;
     private final Map<UUID, CraftingData> preCraftedRecipes = new HashMap<>();
     private final Map<InventoryView, MatrixData> currentMatrixData = new HashMap<>();
+    private final CraftingMatrixCache matrixCache = new CraftingMatrixCache();
     private final CustomCrafting customCrafting;
     private final boolean storeCurrentRecipeViaNMS;
 
@@ -93,12 +96,64 @@ public final class CraftManager {
             return Optional.empty();
         }
         var matrixData = MatrixData.of(matrix);
-        return customCrafting.getRegistries().getRecipes().get(types)
-                .sorted() // Possibility for parallel stream when enough recipes are registered to amortize the overhead. (Things like the PreCraftEvent might interfere. TODO: Experimental Feature)
-                .map(recipe -> tryRecipe(recipe, matrixData, data))
-                .filter(Optional::isPresent)
-                .findFirst()
-                .flatMap(Functions.identity());
+        var recipes = customCrafting.getRegistries().getRecipes();
+        if (customCrafting.getConfigHandler().getConfig().isMatrixCacheEnabled()) {
+            return checkCachedCraftingMatrix(matrixData, data, types);
+        }
+        // Only the recipes that fit the ingredient count and materials of the matrix are checked. These are already sorted by priority.
+        for (CraftingRecipe<?, ?> recipe : recipes.getCraftingCandidates(matrixData, types)) {
+            Optional<CraftingData> craftingData = tryRecipe(recipe, matrixData, data);
+            if (craftingData.isPresent()) {
+                return craftingData;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Same as {@link #checkCraftingMatrix(ItemStack[], Conditions.Data, RecipeType.Container.CraftingContainer[])}, but uses the {@link CraftingMatrixCache}.<br>
+     * When the same grid was checked before, only the recipes that matched it are checked again.
+     */
+    private Optional<CraftingData> checkCachedCraftingMatrix(MatrixData matrixData, Conditions.Data data, RecipeType.Container.CraftingContainer<?>... types) {
+        var recipes = customCrafting.getRegistries().getRecipes();
+        // Disabled recipes are not included in the candidates, so enabling or disabling a recipe needs to invalidate the cache as well.
+        // Both counts only increase, so their sum changes whenever either of them changes.
+        var disableRecipesHandler = customCrafting.getDisableRecipesHandler();
+        long registryVersion = recipes.getModificationCount() + (disableRecipesHandler != null ? disableRecipesHandler.getModificationCount() : 0);
+        CraftingMatrixCache.Entry entry = matrixCache.get(matrixData, types, registryVersion);
+        if (entry != null) {
+            for (NamespacedKey recipeKey : entry.recipes()) {
+                if (recipes.get(recipeKey) instanceof CraftingRecipe<?, ?> recipe) {
+                    Optional<CraftingData> craftingData = tryRecipe(recipe, matrixData, data);
+                    if (craftingData.isPresent()) {
+                        return craftingData;
+                    }
+                }
+            }
+            if (entry.complete()) {
+                return Optional.empty();
+            }
+        }
+        // The shape is checked before the conditions, so that the cached entry does not depend on the player or context.
+        List<NamespacedKey> matchingRecipes = new ArrayList<>();
+        int maxSize = customCrafting.getConfigHandler().getConfig().getMatrixCacheSize();
+        for (CraftingRecipe<?, ?> recipe : recipes.getCraftingCandidates(matrixData, types)) {
+            var craftingData = recipe.check(matrixData);
+            if (craftingData == null) continue;
+            matchingRecipes.add(recipe.getNamespacedKey());
+            if (!recipe.checkConditions(data)) continue;
+            Optional<CraftingData> result = completeRecipe(recipe, craftingData, matrixData, data);
+            if (result.isPresent()) {
+                matrixCache.put(matrixData, types, matchingRecipes, false, registryVersion, maxSize);
+                return result;
+            }
+        }
+        matrixCache.put(matrixData, types, matchingRecipes, true, registryVersion, maxSize);
+        return Optional.empty();
+    }
+
+    public CraftingMatrixCache getMatrixCache() {
+        return matrixCache;
     }
 
     /**
@@ -108,11 +163,19 @@ public final class CraftManager {
      * @return Optional consisting of the {@link CraftingData}, or empty if the recipe doesn't match.
      */
     public Optional<CraftingData> tryRecipe(CraftingRecipe<?, ?> recipe, MatrixData matrixData, Conditions.Data data) {
-        if (!recipe.checkConditions(data))
+        // Cheap conditions first, then the ingredients, and only if those match the costly conditions.
+        if (!recipe.checkConditions(data, Condition.Cost.TRIVIAL, Condition.Cost.CHEAP))
             return Optional.empty(); //No longer call Event if recipe is disabled or invalid!
         var craftingData = recipe.check(matrixData);
         if (craftingData == null) return Optional.empty();
+        if (!recipe.checkConditions(data, Condition.Cost.MODERATE, Condition.Cost.EXPENSIVE)) return Optional.empty();
+        return completeRecipe(recipe, craftingData, matrixData, data);
+    }
 
+    /**
+     * Calls the {@link CustomPreCraftEvent} for the already matched recipe and applies the result.
+     */
+    private Optional<CraftingData> completeRecipe(CraftingRecipe<?, ?> recipe, CraftingData craftingData, MatrixData matrixData, Conditions.Data data) {
         var inventory = data.inventoryView().map(InventoryView::getTopInventory).orElse(null);
         var customPreCraftEvent = new CustomPreCraftEvent(recipe, data.getPlayer(), inventory, matrixData);
         Bukkit.getPluginManager().callEvent(customPreCraftEvent);
@@ -167,7 +230,7 @@ public final class CraftManager {
         recipeResult.executeExtensions(inventory.getLocation() == null ? event.getWhoClicked().getLocation() : inventory.getLocation(), inventory.getLocation() != null, (Player) event.getWhoClicked(), possible);
         if (event.isShiftClick()) {
             if (possible > 0) {
-                RandomCollection<StackReference> results = recipeResult.randomChoices(player);
+                WeightedSampler<StackReference> results = recipeResult.sampler(player);
                 for (int i = 0; i < possible; i++) {
                     var reference = results.next();
                     if (reference != null) {
@@ -190,7 +253,7 @@ public final class CraftManager {
             } else {
                 cursor.setAmount(cursor.getAmount() + result.getAmount());
             }
-            recipeResult.removeCachedItem(player);
+            recipeResult.removeCachedReference(player);
         } else return 0;
         return possible;
     }
@@ -288,8 +351,16 @@ public final class CraftManager {
             this.gridSize = gridSize;
             this.offsetX = offsetX;
             this.offsetY = offsetY;
-            this.items = Arrays.stream(matrix).filter(itemStack -> !ItemUtils.isAirOrNull(itemStack)).toArray(ItemStack[]::new);
-            this.strippedSize = this.items.length;
+            int count = 0;
+            for (ItemStack itemStack : matrix) {
+                if (!ItemUtils.isAirOrNull(itemStack)) count++;
+            }
+            this.items = new ItemStack[count];
+            int index = 0;
+            for (ItemStack itemStack : matrix) {
+                if (!ItemUtils.isAirOrNull(itemStack)) items[index++] = itemStack;
+            }
+            this.strippedSize = count;
         }
 
         /**
@@ -364,47 +435,30 @@ public final class CraftManager {
 
         public static MatrixData of(ItemStack[] ingredients) {
             int gridSize = gridSize(ingredients);
-            ItemStack[][] itemMatrix = new ItemStack[gridSize][gridSize];
-            for (int y = 0; y < gridSize; y++) {
-                itemMatrix[y] = Arrays.copyOfRange(ingredients, y * gridSize, gridSize + y * gridSize);
-            }
-            int top = 0;
-            int bottom = gridSize;
-            int left = 0;
-            int right = gridSize;
-            topCheck:
-            for (; top < gridSize; top++) {
-                for (ItemStack stack : itemMatrix[top]) {
-                    if (stack != null) break topCheck;
-                }
-            }
-            bottomCheck:
-            for (; bottom > 0; bottom--) {
-                for (ItemStack stack : itemMatrix[bottom - 1]) {
-                    if (stack != null) break bottomCheck;
+            // Find the bounds of the items in a single pass, without copying the rows of the grid.
+            int top = gridSize;
+            int bottom = -1;
+            int left = gridSize;
+            int right = -1;
+            for (int i = 0; i < gridSize * gridSize; i++) {
+                if (ingredients[i] != null) {
+                    int y = i / gridSize;
+                    int x = i % gridSize;
+                    if (y < top) top = y;
+                    if (y > bottom) bottom = y;
+                    if (x < left) left = x;
+                    if (x > right) right = x;
                 }
             }
-            if (top > bottom)
+            if (bottom < 0)
                 return new MatrixData(ingredients, new ItemStack[0], 0, 0, gridSize, 0, 0); // No item inside the grid, do not do further calculations!
-            itemMatrix = Arrays.copyOfRange(itemMatrix, top, bottom);
-            leftCheck:
-            for (; left < gridSize; left++) {
-                for (ItemStack[] row : itemMatrix) {
-                    if (row[left] != null) break leftCheck;
-                }
-            }
-            rightCheck:
-            for (; right > 0; right--) {
-                for (ItemStack[] row : itemMatrix) {
-                    if (row[right - 1] != null) break rightCheck;
-                }
-            }
-            var width = right > left ? right - left : 0; // It should already be caught by the (top > bottom) check, but just make sure.
-            var flatList = new ItemStack[itemMatrix.length * width];
-            for (int i = 0; i < itemMatrix.length; i++) {
-                System.arraycopy(itemMatrix[i], left, flatList, i*width, width);
+            var height = bottom - top + 1;
+            var width = right - left + 1;
+            var flatList = new ItemStack[height * width];
+            for (int y = 0; y < height; y++) {
+                System.arraycopy(ingredients, (top + y) * gridSize + left, flatList, y * width, width);
             }
-            return new MatrixData(ingredients, flatList, itemMatrix.length, width, gridSize, left, top);
+            return new MatrixData(ingredients, flatList, height, width, gridSize, left, top);
         }
 
         @Override
@@ -0,0 +1,144 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.utils;
+
+import me.wolfyscript.customcrafting.recipes.RecipeType;
+import me.wolfyscript.utilities.util.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers which crafting recipes structurally match the recently checked crafting grids.<br>
+ * <br>
+ * Each entry contains the recipes, whose shape and ingredients match the grid, in order of priority.
+ * An entry with no recipes means that no custom recipe matches the grid at all.<br>
+ * Conditions, the {@link me.wolfyscript.customcrafting.listeners.customevents.CustomPreCraftEvent} and the result are not cached, as these depend on the player and context.<br>
+ * <br>
+ * The cache is cleared as soon as the registered recipes change or recipes are enabled or disabled, and is limited to the specified amount of entries, dropping the least recently used grids first.
+ */
+public class CraftingMatrixCache {
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long registryVersion = -1;
+
+    /**
+     * Gets the cached entry of the specified grid.
+     *
+     * @param matrixData      The grid to get the entry for.
+     * @param types           The crafting containers that are checked.
+     * @param registryVersion The current version of the registered and disabled recipes.
+     * @return The cached entry; or null if the grid was not cached yet.
+     */
+    public synchronized @Nullable Entry get(CraftManager.MatrixData matrixData, RecipeType.Container.CraftingContainer<?>[] types, long registryVersion) {
+        if (this.registryVersion != registryVersion) {
+            entries.clear();
+            this.registryVersion = registryVersion;
+        }
+        Entry entry = entries.get(new Key(matrixData, types));
+        if (entry != null && entry.matches(matrixData)) {
+            hits.incrementAndGet();
+            return entry;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Caches the recipes that structurally match the specified grid.
+     *
+     * @param matrixData      The grid that was checked.
+     * @param types           The crafting containers that were checked.
+     * @param recipes         The keys of the matching recipes in order of priority.
+     * @param complete        If all matching recipes are included, or the check stopped at the last recipe.
+     * @param registryVersion The version of the registered and disabled recipes, when the recipes were checked.
+     * @param maxSize         The maximum amount of cached grids.
+     */
+    public synchronized void put(CraftManager.MatrixData matrixData, RecipeType.Container.CraftingContainer<?>[] types, List<NamespacedKey> recipes, boolean complete, long registryVersion, int maxSize) {
+        if (this.registryVersion != registryVersion || maxSize <= 0) return;
+        ItemStack[] matrix = Arrays.stream(matrixData.getMatrix()).map(itemStack -> itemStack == null ? null : itemStack.clone()).toArray(ItemStack[]::new);
+        entries.put(new Key(matrixData, types), new Entry(matrix, matrixData.getOffsetX(), matrixData.getOffsetY(), List.copyOf(recipes), complete));
+        while (entries.size() > maxSize) {
+            var iterator = entries.keySet().iterator();
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * The offsets are part of the key, because shaped recipes that keep their shape as is are checked against the original grid.
+     */
+    private record Key(long hash, int width, int height, int gridSize, int offsetX, int offsetY, List<RecipeType.Container.CraftingContainer<?>> types) {
+
+        Key(CraftManager.MatrixData matrixData, RecipeType.Container.CraftingContainer<?>[] types) {
+            this(hash(matrixData.getMatrix()), matrixData.getWidth(), matrixData.getHeight(), matrixData.getGridSize(), matrixData.getOffsetX(), matrixData.getOffsetY(), Arrays.asList(types));
+        }
+
+        private static long hash(ItemStack[] matrix) {
+            long hash = 1;
+            for (ItemStack itemStack : matrix) {
+                hash = 31 * hash + (itemStack == null ? 0 : itemStack.hashCode());
+            }
+            return hash;
+        }
+
+    }
+
+    /**
+     * @param matrix   A copy of the cached grid, used to make sure that a grid with the same hash is actually equal.
+     * @param offsetX  The column of the grid at which the cached grid starts.
+     * @param offsetY  The row of the grid at which the cached grid starts.
+     * @param recipes  The keys of the recipes that structurally match the grid in order of priority.
+     * @param complete True if all matching recipes are included; false if there might be more matching recipes of lower priority.
+     */
+    public record Entry(ItemStack[] matrix, int offsetX, int offsetY, List<NamespacedKey> recipes, boolean complete) {
+
+        private boolean matches(CraftManager.MatrixData matrixData) {
+            return offsetX == matrixData.getOffsetX() && offsetY == matrixData.getOffsetY() && Arrays.equals(matrix, matrixData.getMatrix());
+        }
+
+    }
+
+}
@@ -241,6 +241,7 @@ public class ItemLoader {
             customItem.setNamespacedKey(namespacedKey);
             loader.save(customItem);
             WolfyUtilCore.getInstance().getRegistries().getCustomItems().register(customItem);
+            CustomCrafting.inst().getCookingManager().getFuelIndex().invalidate();
         }
     }
 
@@ -253,6 +254,7 @@ public class ItemLoader {
             }
             CustomItem item = registry.get(namespacedKey);
             registry.remove(namespacedKey);
+            CustomCrafting.inst().getCookingManager().getFuelIndex().invalidate();
             try {
                 if (loader.delete(item)) {
                     CustomCrafting.inst().getApi().getChat().sendMessage(player, Component.text("CustomItem deleted!", NamedTextColor.GREEN));
@@ -0,0 +1,133 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.utils;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits how often each player can perform an action, like clicking recipes in the recipe book.<br>
+ * <br>
+ * Each player may perform the action once per interval, and may use up to burst actions at once after being idle.
+ * The state of a player is a single timestamp that is updated without locks, so the limiter can be used from async packet threads.
+ * The state of a player is removed when the player quits.
+ */
+public class PlayerRateLimiter implements Listener {
+
+    private final Map<UUID, AtomicLong> nextAllowed = new ConcurrentHashMap<>();
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private volatile long intervalNanos;
+    private volatile long toleranceNanos;
+
+    /**
+     * @param intervalMillis The milliseconds between two actions of a player.
+     * @param burst          The amount of actions a player can perform at once.
+     */
+    public PlayerRateLimiter(long intervalMillis, int burst) {
+        setRate(intervalMillis, burst);
+    }
+
+    /**
+     * Changes the rate of this limiter. Already tracked players keep their current state.
+     *
+     * @param intervalMillis The milliseconds between two actions of a player.
+     * @param burst          The amount of actions a player can perform at once.
+     */
+    public void setRate(long intervalMillis, int burst) {
+        long interval = TimeUnit.MILLISECONDS.toNanos(Math.max(0, intervalMillis));
+        this.intervalNanos = interval;
+        this.toleranceNanos = interval * (Math.max(1, burst) - 1);
+    }
+
+    /**
+     * Checks if the player is allowed to perform the action and, if so, consumes it.
+     *
+     * @param uuid The uuid of the player.
+     * @return True if the action is allowed; false if the player needs to be throttled.
+     */
+    public boolean tryAcquire(UUID uuid) {
+        long interval = intervalNanos;
+        if (interval == 0) {
+            allowed.increment();
+            return true;
+        }
+        long now = System.nanoTime();
+        AtomicLong next = nextAllowed.computeIfAbsent(uuid, id -> new AtomicLong(now));
+        while (true) {
+            long current = next.get();
+            long base = current - now > 0 ? current : now;
+            if (base - now > toleranceNanos) {
+                throttled.increment();
+                return false;
+            }
+            if (next.compareAndSet(current, base + interval)) {
+                allowed.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes the state of the player.
+     *
+     * @param uuid The uuid of the player.
+     */
+    public void remove(UUID uuid) {
+        nextAllowed.remove(uuid);
+    }
+
+    /**
+     * @return The amount of players that are currently tracked.
+     */
+    public int size() {
+        return nextAllowed.size();
+    }
+
+    /**
+     * @return The amount of actions that were allowed.
+     */
+    public long getAllowed() {
+        return allowed.sum();
+    }
+
+    /**
+     * @return The amount of actions that were throttled.
+     */
+    public long getThrottled() {
+        return throttled.sum();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        remove(event.getPlayer().getUniqueId());
+    }
+}
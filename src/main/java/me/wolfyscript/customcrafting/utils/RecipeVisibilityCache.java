@@ -0,0 +1,231 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.utils;
+
+import me.wolfyscript.customcrafting.CustomCrafting;
+import me.wolfyscript.customcrafting.configs.MainConfig;
+import me.wolfyscript.customcrafting.recipes.CustomRecipe;
+import me.wolfyscript.customcrafting.recipes.conditions.Conditions;
+import me.wolfyscript.customcrafting.registry.RegistryRecipes;
+import me.wolfyscript.utilities.util.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers which recipes each player can see in the recipe book, as a bitmap over the indices of the registered recipes.<br>
+ * A recipe is visible if it is neither hidden nor disabled, and the player has the permission of the recipe.<br>
+ * <br>
+ * The bitmap of a player is created the first time it is needed, so the recipe book no longer checks the permission of each recipe on each render.
+ * It is recreated when the recipes are reloaded, a recipe is enabled or disabled, the player changes the world, or after the configured time, so permission changes are picked up.
+ * The bitmap of a player is removed when the player quits.
+ */
+public class RecipeVisibilityCache implements Listener {
+
+    private final CustomCrafting customCrafting;
+    private final Map<UUID, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private volatile RecipeIndices indices = new RecipeIndices(-1, Map.of(), List.of());
+    private volatile long expireAfterMillis = TimeUnit.SECONDS.toMillis(30);
+
+    public RecipeVisibilityCache(CustomCrafting customCrafting) {
+        this.customCrafting = customCrafting;
+    }
+
+    /**
+     * Applies the settings of the config.
+     *
+     * @param config The config to get the settings from.
+     */
+    public void load(MainConfig config) {
+        this.expireAfterMillis = TimeUnit.SECONDS.toMillis(Math.max(1, config.getRecipeVisibilityExpireAfter()));
+    }
+
+    /**
+     * Creates the bitmap of the specified recipes, that can be intersected with the bitmap of a player.
+     *
+     * @param recipes The recipes to get the bitmap for.
+     * @return The bitmap containing the indices of the recipes.
+     */
+    public RecipeBits bitsOf(Collection<? extends CustomRecipe<?>> recipes) {
+        RecipeIndices current = indices();
+        var bits = new BitSet(current.recipes().size());
+        for (CustomRecipe<?> recipe : recipes) {
+            if (recipe == null) continue;
+            Integer index = current.indexOf().get(recipe.getNamespacedKey());
+            if (index != null) {
+                bits.set(index);
+            }
+        }
+        return new RecipeBits(current.version(), bits);
+    }
+
+    /**
+     * Checks if the player can see at least one of the recipes of the bitmap.
+     *
+     * @param player The player to check.
+     * @param bits   The bitmap of the recipes, that must be created via {@link #bitsOf(Collection)}.
+     * @return True if at least one of the recipes is visible to the player.
+     */
+    public boolean isAnyVisible(Player player, RecipeBits bits) {
+        return getVisible(player).intersects(bits.bits());
+    }
+
+    /**
+     * Checks if the player can see the recipe.
+     *
+     * @param player The player to check.
+     * @param recipe The recipe to check.
+     * @return True if the recipe is visible to the player.
+     */
+    public boolean isVisible(Player player, CustomRecipe<?> recipe) {
+        RecipeIndices current = indices();
+        Integer index = current.indexOf().get(recipe.getNamespacedKey());
+        return index != null && getVisible(player, current).get(index);
+    }
+
+    /**
+     * Gets the bitmap of the recipes, that the player can see.<br>
+     * The bitmap must not be modified!
+     *
+     * @param player The player to get the bitmap for.
+     * @return The bitmap of the visible recipes.
+     */
+    public BitSet getVisible(Player player) {
+        return getVisible(player, indices());
+    }
+
+    /**
+     * Checks if the bitmap was created for the currently registered recipes.
+     *
+     * @param bits The bitmap to check.
+     * @return True if the recipes changed since the bitmap was created.
+     */
+    public boolean isOutdated(RecipeBits bits) {
+        return bits.version() != customCrafting.getRegistries().getRecipes().getModificationCount();
+    }
+
+    /**
+     * Removes the bitmap of the player, so it is recreated the next time it is needed.<br>
+     * Should be called when the permissions of the player changed.
+     *
+     * @param player The player to remove the bitmap of.
+     */
+    public void invalidate(Player player) {
+        snapshots.remove(player.getUniqueId());
+    }
+
+    /**
+     * Removes the bitmaps of all players, so they are recreated the next time they are needed.
+     */
+    public void invalidateAll() {
+        snapshots.clear();
+    }
+
+    /**
+     * @return The amount of players that currently have a bitmap.
+     */
+    public int size() {
+        return snapshots.size();
+    }
+
+    private BitSet getVisible(Player player, RecipeIndices current) {
+        long now = System.currentTimeMillis();
+        Snapshot snapshot = snapshots.get(player.getUniqueId());
+        if (snapshot == null || snapshot.version() != current.version() || now - snapshot.created() > expireAfterMillis) {
+            snapshot = new Snapshot(current.version(), now, computeVisible(player, current.recipes()));
+            snapshots.put(player.getUniqueId(), snapshot);
+        }
+        return snapshot.visible();
+    }
+
+    private BitSet computeVisible(Player player, List<CustomRecipe<?>> recipes) {
+        var visible = new BitSet(recipes.size());
+        var data = Conditions.Data.of(player);
+        for (int i = 0; i < recipes.size(); i++) {
+            CustomRecipe<?> recipe = recipes.get(i);
+            if (!recipe.isHidden() && !recipe.isDisabled() && recipe.checkCondition("permission", data)) {
+                visible.set(i);
+            }
+        }
+        return visible;
+    }
+
+    private RecipeIndices indices() {
+        RegistryRecipes registry = customCrafting.getRegistries().getRecipes();
+        RecipeIndices current = indices;
+        long version = registry.getModificationCount();
+        if (current.version() != version) {
+            synchronized (this) {
+                current = indices;
+                if (current.version() != version) {
+                    List<CustomRecipe<?>> recipes = List.copyOf(registry.values());
+                    Map<NamespacedKey, Integer> indexOf = new HashMap<>(recipes.size() * 2);
+                    for (int i = 0; i < recipes.size(); i++) {
+                        indexOf.put(recipes.get(i).getNamespacedKey(), i);
+                    }
+                    current = new RecipeIndices(version, indexOf, recipes);
+                    indices = current;
+                    snapshots.clear();
+                }
+            }
+        }
+        return current;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        invalidate(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangeWorld(PlayerChangedWorldEvent event) {
+        // Permissions may be world specific.
+        invalidate(event.getPlayer());
+    }
+
+    /**
+     * The bitmap of a set of recipes, e.g. the recipes of a recipe book container.
+     *
+     * @param version The modification count of the registry when the bitmap was created.
+     * @param bits    The indices of the recipes.
+     */
+    public record RecipeBits(long version, BitSet bits) {
+    }
+
+    private record RecipeIndices(long version, Map<NamespacedKey, Integer> indexOf, List<CustomRecipe<?>> recipes) {
+    }
+
+    private record Snapshot(long version, long created, BitSet visible) {
+    }
+}
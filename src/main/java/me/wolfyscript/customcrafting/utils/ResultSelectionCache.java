@@ -0,0 +1,306 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.utils;
+
+import com.wolfyscript.utilities.bukkit.world.items.reference.StackReference;
+import me.wolfyscript.customcrafting.CustomCrafting;
+import me.wolfyscript.customcrafting.configs.MainConfig;
+import me.wolfyscript.customcrafting.recipes.items.Result;
+import org.bukkit.Bukkit;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the randomly chosen item of each {@link Result} per player and block, until it is taken out.<br>
+ * This makes sure the player gets the same item that was previewed, even if the result has multiple weighted items.<br>
+ * <br>
+ * The selections of a player are removed when the player quits, and the selections of blocks are removed when their chunk is unloaded.
+ * Additionally, selections that were not used for the configured time are removed, and the amount of players/blocks is limited, dropping the least recently used first.
+ */
+public class ResultSelectionCache implements Listener {
+
+    private final CustomCrafting customCrafting;
+    // Access ordered, so the least recently used owners come first.
+    private final LinkedHashMap<Owner, Selections> selections = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<ChunkPos, Set<BlockOwner>> blocksByChunk = new HashMap<>();
+    private long expireAfterMillis = TimeUnit.MINUTES.toMillis(10);
+    private int maxSize = 10000;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private BukkitTask sweeper;
+
+    public ResultSelectionCache(CustomCrafting customCrafting) {
+        this.customCrafting = customCrafting;
+    }
+
+    /**
+     * Applies the settings of the config and starts to periodically remove the expired selections.
+     *
+     * @param config The config to get the settings from.
+     */
+    public void start(MainConfig config) {
+        synchronized (this) {
+            this.expireAfterMillis = TimeUnit.SECONDS.toMillis(Math.max(1, config.getResultCacheExpireAfter()));
+            this.maxSize = Math.max(1, config.getResultCacheSize());
+        }
+        if (sweeper != null) {
+            sweeper.cancel();
+        }
+        long interval = Math.max(20, Math.min(20 * 60, TimeUnit.MILLISECONDS.toSeconds(expireAfterMillis) * 20));
+        sweeper = Bukkit.getScheduler().runTaskTimer(customCrafting, this::removeExpired, interval, interval);
+    }
+
+    /**
+     * Stops the periodic removal and clears all selections.
+     */
+    public void stop() {
+        if (sweeper != null) {
+            sweeper.cancel();
+            sweeper = null;
+        }
+        clear();
+    }
+
+    /**
+     * Gets the selected item of the result for the player, or chooses a new one if there is none yet.
+     *
+     * @param result  The result to get the selected item of.
+     * @param player  The player to get the item for.
+     * @param chooser Chooses a new item, if there is none yet.
+     * @return The selected item; or null if the chooser did not choose any item.
+     */
+    public @Nullable StackReference get(Result result, @Nullable Player player, Supplier<StackReference> chooser) {
+        return get(new PlayerOwner(player == null ? null : player.getUniqueId()), result, chooser);
+    }
+
+    /**
+     * Gets the selected item of the result for the block, or chooses a new one if there is none yet.
+     *
+     * @param result  The result to get the selected item of.
+     * @param block   The block to get the item for.
+     * @param chooser Chooses a new item, if there is none yet.
+     * @return The selected item; or null if the chooser did not choose any item.
+     */
+    public @Nullable StackReference get(Result result, Block block, Supplier<StackReference> chooser) {
+        return get(BlockOwner.of(block), result, chooser);
+    }
+
+    /**
+     * Removes the selected item of the result for the player, so a new item is chosen next time.
+     *
+     * @param result The result to remove the selection of.
+     * @param player The player to remove the selection for.
+     */
+    public void remove(Result result, Player player) {
+        remove(new PlayerOwner(player.getUniqueId()), result);
+    }
+
+    /**
+     * Removes the selected item of the result for the block, so a new item is chosen next time.
+     *
+     * @param result The result to remove the selection of.
+     * @param block  The block to remove the selection for.
+     */
+    public void remove(Result result, Block block) {
+        remove(BlockOwner.of(block), result);
+    }
+
+    public synchronized void clear() {
+        selections.clear();
+        blocksByChunk.clear();
+    }
+
+    /**
+     * @return The amount of players and blocks that currently have selected items.
+     */
+    public synchronized int size() {
+        return selections.size();
+    }
+
+    /**
+     * @return The amount of selected items of all players and blocks.
+     */
+    public synchronized int getSelectionCount() {
+        return selections.values().stream().mapToInt(value -> value.items.size()).sum();
+    }
+
+    /**
+     * @return The amount of blocks that currently have selected items.
+     */
+    public synchronized int getBlockCount() {
+        return blocksByChunk.values().stream().mapToInt(Set::size).sum();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return The amount of players/blocks, that were removed because they expired or exceeded the size limit.
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    private synchronized StackReference get(Owner owner, Result result, Supplier<StackReference> chooser) {
+        Selections ownerSelections = selections.get(owner);
+        long now = System.currentTimeMillis();
+        if (ownerSelections != null) {
+            ownerSelections.lastAccess = now;
+            StackReference item = ownerSelections.items.get(result);
+            if (item != null) {
+                hits++;
+                return item;
+            }
+        }
+        misses++;
+        StackReference item = chooser.get();
+        if (item == null) return null;
+        if (ownerSelections == null) {
+            ownerSelections = new Selections(now);
+            selections.put(owner, ownerSelections);
+            if (owner instanceof BlockOwner blockOwner) {
+                blocksByChunk.computeIfAbsent(blockOwner.chunk(), pos -> new HashSet<>()).add(blockOwner);
+            }
+            if (selections.size() > maxSize) {
+                Iterator<Map.Entry<Owner, Selections>> iterator = selections.entrySet().iterator();
+                evict(iterator.next().getKey(), iterator);
+            }
+        }
+        ownerSelections.items.put(result, item);
+        return item;
+    }
+
+    private synchronized void remove(Owner owner, Result result) {
+        // Getting the entry moves it to the end of the access order, so the access time needs to be updated as well, to keep the entries sorted by it.
+        Selections ownerSelections = selections.get(owner);
+        if (ownerSelections != null) {
+            ownerSelections.lastAccess = System.currentTimeMillis();
+            ownerSelections.items.remove(result);
+            if (ownerSelections.items.isEmpty()) {
+                removeOwner(owner);
+            }
+        }
+    }
+
+    private synchronized void removeExpired() {
+        long expired = System.currentTimeMillis() - expireAfterMillis;
+        Iterator<Map.Entry<Owner, Selections>> iterator = selections.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Owner, Selections> entry = iterator.next();
+            if (entry.getValue().lastAccess > expired) break; // The remaining entries were used more recently
+            evict(entry.getKey(), iterator);
+        }
+    }
+
+    private void evict(Owner owner, Iterator<Map.Entry<Owner, Selections>> iterator) {
+        iterator.remove();
+        unlinkBlock(owner);
+        evictions++;
+    }
+
+    private void removeOwner(Owner owner) {
+        if (selections.remove(owner) != null) {
+            unlinkBlock(owner);
+        }
+    }
+
+    private void unlinkBlock(Owner owner) {
+        if (owner instanceof BlockOwner blockOwner) {
+            Set<BlockOwner> blocks = blocksByChunk.get(blockOwner.chunk());
+            if (blocks != null && blocks.remove(blockOwner) && blocks.isEmpty()) {
+                blocksByChunk.remove(blockOwner.chunk());
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        synchronized (this) {
+            removeOwner(new PlayerOwner(event.getPlayer().getUniqueId()));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(ChunkUnloadEvent event) {
+        synchronized (this) {
+            Set<BlockOwner> blocks = blocksByChunk.remove(new ChunkPos(event.getWorld().getUID(), event.getChunk().getX(), event.getChunk().getZ()));
+            if (blocks != null) {
+                blocks.forEach(selections::remove);
+            }
+        }
+    }
+
+    private sealed interface Owner permits PlayerOwner, BlockOwner {
+    }
+
+    private record PlayerOwner(@Nullable UUID uuid) implements Owner {
+    }
+
+    private record BlockOwner(UUID world, int x, int y, int z) implements Owner {
+
+        static BlockOwner of(Block block) {
+            return new BlockOwner(block.getWorld().getUID(), block.getX(), block.getY(), block.getZ());
+        }
+
+        ChunkPos chunk() {
+            return new ChunkPos(world, x >> 4, z >> 4);
+        }
+    }
+
+    private record ChunkPos(UUID world, int x, int z) {
+    }
+
+    private static final class Selections {
+
+        // Results do not override equals, so compare them by identity right away
+        private final Map<Result, StackReference> items = new IdentityHashMap<>(4);
+        private long lastAccess;
+
+        private Selections(long lastAccess) {
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.utils;
+
+import com.wolfyscript.utilities.bukkit.world.items.reference.BukkitStackIdentifier;
+import com.wolfyscript.utilities.bukkit.world.items.reference.StackIdentifier;
+import com.wolfyscript.utilities.bukkit.world.items.reference.StackReference;
+import me.wolfyscript.utilities.util.inventory.ItemUtils;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Utility methods for {@link StackReference}s, that are shared by the recipe and ingredient indexes.
+ */
+public class StackReferenceUtils {
+
+    private StackReferenceUtils() {
+    }
+
+    /**
+     * Gets the material that all items matching the reference are of.<br>
+     * Only vanilla items are bound to their material.
+     * The material of custom items may be changed at runtime (e.g. in the item editor, or when the item files are reloaded), and so may the items of third-party plugins,
+     * so the indexes need to treat them as wildcards that may match any material.
+     *
+     * @param reference The reference to get the material of.
+     * @return The material of the referenced item; or null if the reference may match items of any material, or references air or an unavailable item.
+     */
+    public static @Nullable Material materialOf(@Nullable StackReference reference) {
+        if (reference == null) return null;
+        StackIdentifier identifier = reference.identifier().orElse(null);
+        if (!(identifier instanceof BukkitStackIdentifier)) return null;
+        ItemStack stack = reference.referencedStack();
+        return ItemUtils.isAirOrNull(stack) ? null : stack.getType();
+    }
+
+}
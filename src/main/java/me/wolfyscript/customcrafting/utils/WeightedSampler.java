@@ -0,0 +1,128 @@
+/*
+ *       ____ _  _ ____ ___ ____ _  _ ____ ____ ____ ____ ___ _ _  _ ____
+ *       |    |  | [__   |  |  | |\/| |    |__/ |__| |___  |  | |\ | | __
+ *       |___ |__| ___]  |  |__| |  | |___ |  \ |  | |     |  | | \| |__]
+ *
+ *       CustomCrafting Recipe creation and management tool for Minecraft
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package me.wolfyscript.customcrafting.utils;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Chooses random values according to their weight, using the alias method (Walker/Vose).<br>
+ * <br>
+ * The tables are built once in O(n), after which each value is chosen in O(1) without any allocations.
+ * Instances are immutable, so they can be shared between threads.<br>
+ * Values with a weight of zero or less are never chosen.
+ *
+ * @param <T> The type of the values.
+ */
+public final class WeightedSampler<T> {
+
+    private static final WeightedSampler<?> EMPTY = new WeightedSampler<>(new Object[0], new double[0], new int[0]);
+
+    private final Object[] values;
+    private final double[] probabilities;
+    private final int[] aliases;
+
+    private WeightedSampler(Object[] values, double[] probabilities, int[] aliases) {
+        this.values = values;
+        this.probabilities = probabilities;
+        this.aliases = aliases;
+    }
+
+    /**
+     * Creates a sampler of the specified values.
+     *
+     * @param values The values to choose from.
+     * @param weight The function to get the weight of a value.
+     * @param <T>    The type of the values.
+     * @return A new sampler; or an empty sampler if there is no value with a positive weight.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> WeightedSampler<T> of(List<? extends T> values, ToDoubleFunction<? super T> weight) {
+        int size = 0;
+        Object[] included = new Object[values.size()];
+        double[] weights = new double[values.size()];
+        double total = 0;
+        for (T value : values) {
+            double valueWeight = weight.applyAsDouble(value);
+            if (valueWeight > 0) {
+                included[size] = value;
+                weights[size] = valueWeight;
+                total += valueWeight;
+                size++;
+            }
+        }
+        if (size == 0) return (WeightedSampler<T>) EMPTY;
+
+        Object[] sampledValues = new Object[size];
+        System.arraycopy(included, 0, sampledValues, 0, size);
+        double[] probabilities = new double[size];
+        int[] aliases = new int[size];
+        // Scale the weights, so the average is 1. Then pair each value below the average with one above it.
+        double[] scaled = new double[size];
+        Deque<Integer> small = new ArrayDeque<>();
+        Deque<Integer> large = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size / total;
+            (scaled[i] < 1 ? small : large).add(i);
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int less = small.poll();
+            int more = large.poll();
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            (scaled[more] < 1 ? small : large).add(more);
+        }
+        // The remaining values are (because of rounding errors only almost) exactly at the average
+        while (!large.isEmpty()) {
+            probabilities[large.poll()] = 1;
+        }
+        while (!small.isEmpty()) {
+            probabilities[small.poll()] = 1;
+        }
+        return new WeightedSampler<>(sampledValues, probabilities, aliases);
+    }
+
+    /**
+     * @return A random value according to the weights; or null if there are no values.
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable T next() {
+        if (values.length == 0) return null;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int column = random.nextInt(values.length);
+        return (T) values[random.nextDouble() < probabilities[column] ? column : aliases[column]];
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    public int size() {
+        return values.length;
+    }
+}